@@ -85,6 +85,7 @@ public enum HttpResponseStatus {
     USERSTUDY_COMPLETE_REQUEST(false, BAD_REQUEST.value(),"이미 처리된 요청입니다."),
     USERSTUDY_MEMBER_ALREADY_EXIST(false, BAD_REQUEST.value(),"이미 활동 중입니다."),
     USERSTUDY_NOT_EXIST_USERSTUDY(false, BAD_REQUEST.value(),"참여 중인 스터디가 아닙니다."),
+    USERSTUDY_TOO_MANY_REQUESTS(false, HttpStatus.TOO_MANY_REQUESTS.value(),"요청이 많습니다. 잠시 후 다시 시도해주세요."),
 
 
     // Planner
@@ -97,6 +98,7 @@ public enum HttpResponseStatus {
     UPDATE_STUDY_DUPLICATE_NAME(false, BAD_REQUEST.value(), "이전 이름과 같습니다. 새로운 이름을 입력해주세요."),
     UPDATE_STUDY_ALREADY_COMPLETE(false, BAD_REQUEST.value(), "이미 완수한 스터디입니다."),
     EMPTY_STUDY(false, BAD_REQUEST.value(), "존재하지 않는 스터디입니다."),
+    GET_STUDY_INVALID_SORT(false, BAD_REQUEST.value(), "잘못된 정렬 기준입니다."),
 
     // StudyTime
     POST_STUDYTIME_DUPLICATE_REQUEST(false, BAD_REQUEST.value(), "이미 진행 중인 계획이 있습니다."),
@@ -107,6 +109,7 @@ public enum HttpResponseStatus {
     POST_POST_EMPTY_CONTENTS(false, BAD_REQUEST.value(), "글 내용을 입력해주세요."),
     POST_NOT_AUTHORIZED(false, BAD_REQUEST.value(), "권한이 없습니다."),
     EMPTY_POST(false, BAD_REQUEST.value(), "존재하지 않는 글입니다."),
+    GET_POST_INVALID_CURSOR(false, BAD_REQUEST.value(), "잘못된 커서입니다."),
 
 
     // Streak
@@ -121,13 +124,20 @@ public enum HttpResponseStatus {
     UPDATE_PROJECT_EMPTY_TIME(false,BAD_REQUEST.value(),"기간을 선택해주세요."),
     UPDATE_PROJECT_EMPTY_STATUS(false,BAD_REQUEST.value(),"상태를 선택해주세요."),
     UPDATE_PROJECT_FULL_VISIBLE(false,BAD_REQUEST.value(),"더 이상 추가할 수 없습니다."),
+    UPDATE_PROJECT_LONG_VISIBLE(false,BAD_REQUEST.value(),"캘린더에 표시할 수 있는 기간을 넘었습니다."),
     EMPTY_PROJECT(false,BAD_REQUEST.value(),"존재하지 않는 프로젝트입니다."),
 
+    // Image
+    POST_IMAGE_EMPTY_FILE(false, BAD_REQUEST.value(), "이미지를 선택해주세요."),
+    POST_IMAGE_INVALID_TYPE(false, BAD_REQUEST.value(), "jpg, png, gif, webp 이미지만 업로드할 수 있습니다."),
+    POST_IMAGE_TOO_LARGE(false, BAD_REQUEST.value(), "이미지 크기가 너무 큽니다."),
+
     /**
      * 500 : Database, Server 오류
      */
     DATABASE_ERROR(false, HttpStatus.INTERNAL_SERVER_ERROR.value(), "데이터베이스 연결에 실패하였습니다."),
     SERVER_ERROR(false, HttpStatus.INTERNAL_SERVER_ERROR.value(), "서버와의 연결에 실패하였습니다."),
+    IMAGE_SAVE_ERROR(false, HttpStatus.INTERNAL_SERVER_ERROR.value(), "이미지 저장에 실패하였습니다."),
 
     PASSWORD_ENCRYPTION_ERROR(false, HttpStatus.INTERNAL_SERVER_ERROR.value(), "비밀번호 암호화에 실패하였습니다."),
     PASSWORD_DECRYPTION_ERROR(false, HttpStatus.INTERNAL_SERVER_ERROR.value(), "비밀번호 복호화에 실패하였습니다.");
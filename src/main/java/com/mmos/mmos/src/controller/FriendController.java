@@ -2,15 +2,18 @@ package com.mmos.mmos.src.controller;
 
 import com.mmos.mmos.config.ResponseApiMessage;
 import com.mmos.mmos.src.domain.dto.friend.FriendResponseDto;
+import com.mmos.mmos.src.domain.dto.friend.FriendSuggestionResponseDto;
 import com.mmos.mmos.src.service.FriendService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 import static com.mmos.mmos.config.HttpResponseStatus.*;
 
 @RestController
@@ -23,17 +26,22 @@ public class FriendController extends BaseController {
     /**
      * 친구 요청 보내는 API (완료)
      *      가정: 유저 A가 유저 B에게 친구 요청을 보내는 상황
-     *      A의 Friend 객체는 status = 2, User는 B 유저 정보를 담고 있음
-     *      B의 Friend 객체는 status = 3, User는 A 유저 정보를 담고 있음
-     *      만약 B가 친구 요청을 수락하면 두 객체 모두 status가 1이 됨
-     *      거절하면 두 객체 모두 삭제
+     *      A, B 사이에 Friend 객체 하나를 만들고, A 기준 status = 2, B 기준 status = 3
+     *      만약 B가 친구 요청을 수락하면 status가 1이 됨
+     *      거절하면 삭제
      * @param userIdx1: 친구 요청을 보내는 유저
      * @param userIdx2: 친구 요청을 받은 유저
      */
     @ResponseBody
     @PostMapping("/{userIdx1}/{userIdx2}")
     public ResponseEntity<ResponseApiMessage> requestFriend(@PathVariable Long userIdx1, @PathVariable Long userIdx2) {
-        FriendResponseDto responseDto = friendService.requestFriend(userIdx1, userIdx2);
+        FriendResponseDto responseDto;
+        try {
+            responseDto = friendService.requestFriend(userIdx1, userIdx2);
+        } catch (DataIntegrityViolationException e) {
+            // 두 유저 사이의 요청이 동시에 저장되어 uk_friend_user_friend 에 걸린 경우
+            return sendResponseHttpByJson(FRIEND_COMPLETE_REQUEST, "이미 처리된 요청입니다.", null);
+        }
 
         if(responseDto.getStatus().equals(INVALID_USER))
             return sendResponseHttpByJson(INVALID_USER, "존재하지 않는 유저입니다.", null);
@@ -88,9 +96,36 @@ public class FriendController extends BaseController {
         return sendResponseHttpByJson(SUCCESS, "고정 친구 설정 완료", responseDto);
     }
 
+    /**
+     * 두 유저 사이의 친구 관계 조회 API (프로필, 스터디 멤버 목록의 친구 추가 버튼용)
+     * @param userIdx1: 조회하는 주체의 userIdx
+     * @param userIdx2: 상대 유저의 userIdx
+     * @return 0: 관계 없음, 1: 친구, 2: 내가 보낸 요청, 3: 내가 받은 요청
+     */
+    @ResponseBody
+    @GetMapping("/status/{userIdx1}/{userIdx2}")
+    public ResponseEntity<ResponseApiMessage> getFriendStatus(@PathVariable Long userIdx1, @PathVariable Long userIdx2) {
+        int friendStatus = friendService.getFriendStatus(userIdx1, userIdx2);
+
+        return sendResponseHttpByJson(SUCCESS, "친구 관계 조회 완료", friendStatus);
+    }
+
+    /**
+     * 추천 친구 목록 조회 API
+     *      순서: 함께 아는 친구, 함께하는 스터디, 같은 전공 순으로 매긴 점수 순 (매일 새벽 다시 계산)
+     * @param userIdx: 내 userIdx
+     */
+    @ResponseBody
+    @GetMapping("/suggestions/{userIdx}")
+    public ResponseEntity<ResponseApiMessage> getFriendSuggestions(@PathVariable Long userIdx) {
+        List<FriendSuggestionResponseDto> responseDtoList = friendService.getFriendSuggestions(userIdx);
+
+        return sendResponseHttpByJson(SUCCESS, "추천 친구 목록 조회 완료", responseDtoList);
+    }
+
     /**
      * 내 친구 목록 조회 API (완료)
-     *      순서: 상단 고정 친구(유저 이름 순) -> 일반 친구(유저 이름 순)
+     *      순서: 상단 고정 친구 -> 일반 친구 (각각 친구 추가 순)
      * @param userIdx:
      * @param pageable
      * @return
@@ -98,7 +133,7 @@ public class FriendController extends BaseController {
     // 내 친구 목록 조회
     @ResponseBody
     @GetMapping("/{userIdx}")
-    public ResponseEntity<ResponseApiMessage> getFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10, sort = "friendIndex", direction = Sort.Direction.ASC) Pageable pageable) {
+    public ResponseEntity<ResponseApiMessage> getFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10) Pageable pageable) {
         Page<FriendResponseDto> page = friendService.getFriends(userIdx, 1,  pageable);
 
         return sendResponseHttpByJson(SUCCESS, "친구 목록 조회 완료", page);
@@ -112,7 +147,7 @@ public class FriendController extends BaseController {
     // 내가 보낸 친구 요청 조회
     @ResponseBody
     @GetMapping("send/{userIdx}")
-    public ResponseEntity<ResponseApiMessage> getSendRequestFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10, sort = "friendIndex", direction = Sort.Direction.ASC) Pageable pageable) {
+    public ResponseEntity<ResponseApiMessage> getSendRequestFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10) Pageable pageable) {
         Page<FriendResponseDto> page = friendService.getFriends(userIdx, 2, pageable);
 
         return sendResponseHttpByJson(SUCCESS, "친구 목록 조회 완료", page);
@@ -126,7 +161,7 @@ public class FriendController extends BaseController {
     // 내가 받은 친구 요청 조회
     @ResponseBody
     @GetMapping("receive/{userIdx}")
-    public ResponseEntity<ResponseApiMessage> getReceiveRequestFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10, sort = "friendIndex", direction = Sort.Direction.ASC) Pageable pageable) {
+    public ResponseEntity<ResponseApiMessage> getReceiveRequestFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10) Pageable pageable) {
         Page<FriendResponseDto> page = friendService.getFriends(userIdx, 3, pageable);
 
         return sendResponseHttpByJson(SUCCESS, "친구 목록 조회 완료", page);
@@ -0,0 +1,65 @@
+package com.mmos.mmos.src.controller;
+
+import com.mmos.mmos.config.ResponseApiMessage;
+import com.mmos.mmos.src.domain.dto.friend.FriendListResponseDto;
+import com.mmos.mmos.src.service.FriendService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import static com.mmos.mmos.config.HttpResponseStatus.SUCCESS;
+
+/**
+ * 친구, 보낸/받은 친구 요청 목록 v2
+ * v1 (/api/v1/friends) 과 달리 상대 유저 엔티티 대신 FriendListResponseDto 로 응답한다. (이름, 닉네임, 학번, 전공만 포함)
+ * 순서: 상단 고정 친구 -> 일반 친구 (각각 친구 추가 순)
+ */
+@RestController
+@RequestMapping("/api/v2/friends")
+@RequiredArgsConstructor
+public class FriendListController extends BaseController {
+
+    private final FriendService friendService;
+
+    /**
+     * 내 친구 목록 조회 API
+     * @param userIdx: 내 userIdx
+     * @param pageable: 페이징을 위한 기본 파라미터
+     */
+    @ResponseBody
+    @GetMapping("/{userIdx}")
+    public ResponseEntity<ResponseApiMessage> getFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10) Pageable pageable) {
+        Page<FriendListResponseDto> page = friendService.getFriendList(userIdx, 1, pageable);
+
+        return sendResponseHttpByJson(SUCCESS, "친구 목록 조회 완료", page);
+    }
+
+    /**
+     * 내가 보낸 친구 요청들 목록 조회 API
+     * @param userIdx: 내 userIdx
+     * @param pageable: 페이징을 위한 기본 파라미터
+     */
+    @ResponseBody
+    @GetMapping("/send/{userIdx}")
+    public ResponseEntity<ResponseApiMessage> getSendRequestFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10) Pageable pageable) {
+        Page<FriendListResponseDto> page = friendService.getFriendList(userIdx, 2, pageable);
+
+        return sendResponseHttpByJson(SUCCESS, "친구 목록 조회 완료", page);
+    }
+
+    /**
+     * 내가 받은 친구 요청들 목록 조회 API
+     * @param userIdx: 내 userIdx
+     * @param pageable: 페이징을 위한 기본 파라미터
+     */
+    @ResponseBody
+    @GetMapping("/receive/{userIdx}")
+    public ResponseEntity<ResponseApiMessage> getReceiveRequestFriends(@PathVariable Long userIdx, @PageableDefault(page = 0, size = 10) Pageable pageable) {
+        Page<FriendListResponseDto> page = friendService.getFriendList(userIdx, 3, pageable);
+
+        return sendResponseHttpByJson(SUCCESS, "친구 목록 조회 완료", page);
+    }
+}
@@ -0,0 +1,141 @@
+package com.mmos.mmos.src.controller;
+
+import com.mmos.mmos.config.ResponseApiMessage;
+import com.mmos.mmos.src.domain.dto.image.ImageResponseDto;
+import com.mmos.mmos.src.service.ImageService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.mmos.mmos.config.HttpResponseStatus.*;
+
+@RestController
+@RequestMapping("/api/v1/images")
+@RequiredArgsConstructor
+public class ImageController extends BaseController {
+
+    private final ImageService imageService;
+
+    /**
+     * 이미지 업로드 API
+     * @param file: jpg, png, gif, webp 이미지 (multipart, 형식은 파일 내용으로 판단)
+     * @return url: 원본 주소 (게시글 postImage 로 사용), thumbnailUrl: 목록용 썸네일 주소
+     */
+    @PostMapping("")
+    public ResponseEntity<ResponseApiMessage> saveImage(@RequestParam("file") MultipartFile file) {
+        ImageResponseDto responseDto = imageService.saveImage(file);
+
+        if(responseDto.getStatus().equals(POST_IMAGE_EMPTY_FILE))
+            return sendResponseHttpByJson(POST_IMAGE_EMPTY_FILE, "이미지를 선택해주세요.", null);
+        if(responseDto.getStatus().equals(POST_IMAGE_INVALID_TYPE))
+            return sendResponseHttpByJson(POST_IMAGE_INVALID_TYPE, "jpg, png, gif, webp 이미지만 업로드할 수 있습니다.", null);
+        if(responseDto.getStatus().equals(POST_IMAGE_TOO_LARGE))
+            return sendResponseHttpByJson(POST_IMAGE_TOO_LARGE, "이미지 크기가 너무 큽니다.", null);
+        if(responseDto.getStatus().equals(IMAGE_SAVE_ERROR))
+            return sendResponseHttpByJson(IMAGE_SAVE_ERROR, "이미지 저장에 실패하였습니다.", null);
+        return sendResponseHttpByJson(SUCCESS, "SAVE IMAGE.", responseDto);
+    }
+
+    /**
+     * 이미지 조회 API (Range 요청 지원)
+     * 파일명이 내용의 해시라 내용이 바뀌지 않으므로 오래 캐시하도록 응답
+     * @param name: 이미지 파일명
+     */
+    @GetMapping("/{name}")
+    public void getImage(@PathVariable String name,
+                         @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                         HttpServletResponse response) throws IOException {
+        Path path = imageService.findImage(name);
+        if (path == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // 썸네일 대신 원본을 보내는 경우는 캐시하지 않음
+        String eTag = "\"" + path.getFileName() + "\"";
+        if (path.getFileName().toString().equals(name))
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        else
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        // 저장할 때 확인한 형식으로만 해석하도록 함
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (eTag.equals(ifNoneMatch)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            long end = size - 1;
+            if (range != null) {
+                long[] bytes = parseRange(range, size);
+                if (bytes == null) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = bytes[0];
+                end = bytes[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+            response.setContentType(imageService.getContentType(path));
+            response.setContentLengthLong(end - start + 1);
+
+            // 파일 채널에서 응답 스트림으로 바로 전송
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0)
+                    break;
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // "bytes=start-end" 하나만 지원. 잘못된 범위면 null
+    private long[] parseRange(String range, long size) {
+        if (!range.startsWith("bytes=") || range.contains(","))
+            return null;
+        String[] bytes = range.substring("bytes=".length()).trim().split("-", -1);
+        if (bytes.length != 2)
+            return null;
+        try {
+            long start;
+            long end;
+            if (bytes[0].isEmpty()) {
+                // 마지막 n 바이트
+                long suffix = Long.parseLong(bytes[1]);
+                if (suffix <= 0)
+                    return null;
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(bytes[0]);
+                end = bytes[1].isEmpty() ? size - 1 : Math.min(Long.parseLong(bytes[1]), size - 1);
+            }
+            if (start < 0 || start > end || start >= size)
+                return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
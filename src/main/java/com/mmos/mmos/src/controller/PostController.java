@@ -1,8 +1,10 @@
 package com.mmos.mmos.src.controller;
 
 import com.mmos.mmos.config.ResponseApiMessage;
+import com.mmos.mmos.src.domain.dto.post.PostListResponseDto;
 import com.mmos.mmos.src.domain.dto.post.PostResponseDto;
 import com.mmos.mmos.src.domain.dto.post.PostSaveRequestDto;
+import com.mmos.mmos.src.domain.dto.post.PostScrollResponseDto;
 import com.mmos.mmos.src.domain.dto.post.PostSearchRequestDto;
 import com.mmos.mmos.src.domain.dto.post.PostUpdateRequestDto;
 import com.mmos.mmos.src.service.PostService;
@@ -82,7 +84,7 @@ public class PostController extends BaseController {
     // 홍보글 조회(전체)
     @GetMapping("/promotion/all")
     public ResponseEntity<ResponseApiMessage> getPromotions(@PageableDefault(page = 0, size = 5, sort = "postIndex", direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<PostResponseDto> responseDtoList = postService.getPromotions(false, pageable);
+        Page<PostListResponseDto> responseDtoList = postService.getPromotions(false, pageable);
 
         return sendResponseHttpByJson(SUCCESS, "GET PROMOTIONS.", responseDtoList);
     }
@@ -96,11 +98,43 @@ public class PostController extends BaseController {
     // 공지글 조회(전체)
     @GetMapping("/notice/all/{userIdx}/{studyIdx}")
     public ResponseEntity<ResponseApiMessage> getNotices(@PathVariable Long userIdx, @PathVariable Long studyIdx, @PageableDefault(page = 0, size = 5, sort = "postIndex", direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<PostResponseDto> responseDtoList = postService.getNotices(userIdx, studyIdx, pageable);
+        Page<PostListResponseDto> responseDtoList = postService.getNotices(userIdx, studyIdx, pageable);
 
         return sendResponseHttpByJson(SUCCESS, "GET NOTICES.", responseDtoList);
     }
 
+    /**
+     * 홍보글 무한 스크롤 조회하는 API (최신순)
+     * @param cursor: 이전 응답의 nextCursor (첫 요청은 생략)
+     * @param size: 한 번에 조회할 개수 (최대 50)
+     */
+    @GetMapping("/promotion/scroll")
+    public ResponseEntity<ResponseApiMessage> getPromotionScroll(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") Integer size) {
+        PostScrollResponseDto responseDto = postService.getPromotionScroll(cursor, Math.min(Math.max(size, 1), 50));
+
+        if(responseDto.getStatus().equals(GET_POST_INVALID_CURSOR))
+            return sendResponseHttpByJson(GET_POST_INVALID_CURSOR, "잘못된 커서입니다.", null);
+        return sendResponseHttpByJson(SUCCESS, "GET PROMOTIONS.", responseDto);
+    }
+
+    /**
+     * 공지글 무한 스크롤 조회하는 API (최신순)
+     * @param userIdx: 내 userIdx
+     * @param studyIdx: 내 스터디 studyIdx
+     * @param cursor: 이전 응답의 nextCursor (첫 요청은 생략)
+     * @param size: 한 번에 조회할 개수 (최대 50)
+     */
+    @GetMapping("/notice/scroll/{userIdx}/{studyIdx}")
+    public ResponseEntity<ResponseApiMessage> getNoticeScroll(@PathVariable Long userIdx, @PathVariable Long studyIdx, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") Integer size) {
+        PostScrollResponseDto responseDto = postService.getNoticeScroll(studyIdx, cursor, Math.min(Math.max(size, 1), 50));
+
+        if(responseDto.getStatus().equals(GET_POST_INVALID_CURSOR))
+            return sendResponseHttpByJson(GET_POST_INVALID_CURSOR, "잘못된 커서입니다.", null);
+        if(responseDto.getStatus().equals(EMPTY_STUDY))
+            return sendResponseHttpByJson(EMPTY_STUDY, "존재하지 않는 스터디입니다.", null);
+        return sendResponseHttpByJson(SUCCESS, "GET NOTICES.", responseDto);
+    }
+
     /**
      * 게시물 인덱스로 하나만 조회하는 API (완료)
      * @param postIdx: 게시물 인덱스
@@ -138,8 +172,7 @@ public class PostController extends BaseController {
     @ResponseBody
     @GetMapping("/find")
     public ResponseEntity<ResponseApiMessage> searchPromotionByTitle(@RequestBody PostSearchRequestDto requestDto, @PageableDefault(page = 0, size = 5, sort = "postIndex", direction = Sort.Direction.ASC) Pageable pageable) {
-        System.out.println(requestDto.getSearchStr());
-        Page<PostResponseDto> page = postService.searchPromotionByTitleAndContents(requestDto.getSearchStr(), pageable);
+        Page<PostListResponseDto> page = postService.searchPromotionByTitleAndContents(requestDto.getSearchStr(), pageable);
 
         return sendResponseHttpByJson(SUCCESS, "GET POST.", page);
     }
@@ -63,6 +63,10 @@ public class ProjectController extends BaseController{
             return sendResponseHttpByJson(EMPTY_USER,"존재하지 않는 유저입니다.", null);
         if(projectResponseDto.getStatus().equals(UPDATE_PROJECT_NOT_OWNER))
             return sendResponseHttpByJson(UPDATE_PROJECT_NOT_OWNER,"프로젝트를 소유한 유저가 아닙니다.", null);
+        if(projectResponseDto.getStatus().equals(UPDATE_PROJECT_LONG_VISIBLE))
+            return sendResponseHttpByJson(UPDATE_PROJECT_LONG_VISIBLE,"캘린더에 표시할 수 있는 기간을 넘었습니다.", null);
+        if(projectResponseDto.getStatus().equals(UPDATE_PROJECT_FULL_VISIBLE))
+            return sendResponseHttpByJson(UPDATE_PROJECT_FULL_VISIBLE,"더 이상 추가할 수 없습니다.", null);
         return sendResponseHttpByJson(SUCCESS, "UPDATE PROJECT NAME. PROJECT IDX=" + projectIdx, projectResponseDto);
     }
 
@@ -141,6 +145,8 @@ public class ProjectController extends BaseController{
             return sendResponseHttpByJson(EMPTY_USER,"존재하지 않는 유저입니다.", null);
         if(projectResponseDto.getStatus().equals(UPDATE_PROJECT_NOT_OWNER))
             return sendResponseHttpByJson(UPDATE_PROJECT_NOT_OWNER,"프로젝트를 소유한 유저가 아닙니다.", null);
+        if(projectResponseDto.getStatus().equals(UPDATE_PROJECT_LONG_VISIBLE))
+            return sendResponseHttpByJson(UPDATE_PROJECT_LONG_VISIBLE,"캘린더에 표시할 수 있는 기간을 넘었습니다.", null);
         if(projectResponseDto.getStatus().equals(UPDATE_PROJECT_FULL_VISIBLE))
             return sendResponseHttpByJson(UPDATE_PROJECT_FULL_VISIBLE,"더 이상 추가할 수 없습니다.", null);
         return sendResponseHttpByJson(SUCCESS, "UPDATE PROJECT_IS_COMPLETE. PROJECT IDX=" + projectIdx, projectResponseDto);
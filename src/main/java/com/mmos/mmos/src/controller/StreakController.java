@@ -41,4 +41,17 @@ public class StreakController extends BaseController {
 
         return sendResponseHttpByJson(SUCCESS, "스트릭 조회 성공", responseDtoList);
     }
+
+    /**
+     * 1년치 스트릭 조회 API
+     * @param userIdx: 조회하려는 스트릭의 유저 인덱스
+     * @param year: 조회하려는 연도
+     */
+    @ResponseBody
+    @GetMapping("/{userIdx}/{year}")
+    public ResponseEntity<ResponseApiMessage> getYearStreaks(@PathVariable Long userIdx, @PathVariable Integer year) {
+        List<StreakResponseDto> responseDtoList = streakService.getYearStreaks(userIdx, year);
+
+        return sendResponseHttpByJson(SUCCESS, "스트릭 조회 성공", responseDtoList);
+    }
 }
@@ -1,6 +1,7 @@
 package com.mmos.mmos.src.controller;
 
 import com.mmos.mmos.config.ResponseApiMessage;
+import com.mmos.mmos.src.domain.dto.study.StudyMaintenanceResponseDto;
 import com.mmos.mmos.src.domain.dto.study.StudyNameUpdateDto;
 import com.mmos.mmos.src.domain.dto.study.StudyResponseDto;
 import com.mmos.mmos.src.domain.dto.study.StudySaveRequestDto;
@@ -140,7 +141,7 @@ public class StudyController extends BaseController {
     }
 
     /**
-     * 한 달 평균 공부 시간이 가장 많은 스터디 랭킹 (완료)
+     * 이번 주 평균 공부 시간이 가장 많은 스터디 랭킹 (완료)
      */
     // 금주의 평균 공부 시간이 많은 스터디 랭킹
     @ResponseBody
@@ -152,14 +153,27 @@ public class StudyController extends BaseController {
     }
 
     /**
-     * 한 달이 지나면 모든 스터디의 평균 공부 시간이 0으로 초기화 되는 API (완료)
+     * 스터디 일괄 정리를 시작하는 API (완료)
+     * 스터디원 수를 다시 계산하고 보관 기간이 지난 주간 공부시간을 삭제한 후 평균 공부 시간 랭킹을 이번 주 기준으로 다시 계산한다.
+     * 백그라운드에서 실행되며 진행 상황은 GET /maintenance 로 조회 (이미 실행 중이면 현재 진행 상황 반환)
      */
     @ResponseBody
     @PatchMapping("/reset")
-    public ResponseEntity<ResponseApiMessage> resetAvgStudyTime() {
-        studyService.resetAvgStudyTime();
+    public ResponseEntity<ResponseApiMessage> startMaintenance() {
+        StudyMaintenanceResponseDto responseDto = studyService.startMaintenance();
 
-        return sendResponseHttpByJson(SUCCESS, "평균 공부 시간이 가장 많은 스터디 랭킹", null);
+        return sendResponseHttpByJson(SUCCESS, "스터디 일괄 정리 시작", responseDto);
+    }
+
+    /**
+     * 스터디 일괄 정리 진행 상황 조회 API (완료)
+     */
+    @ResponseBody
+    @GetMapping("/maintenance")
+    public ResponseEntity<ResponseApiMessage> getMaintenance() {
+        StudyMaintenanceResponseDto responseDto = studyService.getMaintenance();
+
+        return sendResponseHttpByJson(SUCCESS, "스터디 일괄 정리 진행 상황 조회 완료", responseDto);
     }
 
     /**
@@ -187,4 +201,29 @@ public class StudyController extends BaseController {
 
         return sendResponseHttpByJson(SUCCESS, "전체 스터디 조회 완료", page);
     }
+
+    /**
+     * 스터디 둘러보기 API
+     * @param sort: member (인원 많은 순), time (이번 주 평균 공부 시간순, 진행 중이고 공개된 스터디만이므로 visible, inProgress 가 true 일 때만), newest (최신순)
+     * @param visible: 공개된 스터디만
+     * @param inProgress: 완수하지 않은 스터디만
+     * @param hasSeat: 자리가 남은 스터디만
+     * @param page: 페이지 (0부터)
+     * @param size: 페이지 크기 (최대 50)
+     */
+    @ResponseBody
+    @GetMapping("/directory")
+    public ResponseEntity<ResponseApiMessage> getStudyDirectory(@RequestParam(defaultValue = "newest") String sort,
+                                                                @RequestParam(defaultValue = "true") Boolean visible,
+                                                                @RequestParam(defaultValue = "true") Boolean inProgress,
+                                                                @RequestParam(defaultValue = "false") Boolean hasSeat,
+                                                                @RequestParam(defaultValue = "0") Integer page,
+                                                                @RequestParam(defaultValue = "10") Integer size) {
+        Page<StudyResponseDto> responseDto = studyService.getStudyDirectory(sort, visible, inProgress, hasSeat,
+                Math.max(page, 0), Math.min(Math.max(size, 1), 50));
+
+        if(responseDto == null)
+            return sendResponseHttpByJson(GET_STUDY_INVALID_SORT, "잘못된 정렬 기준입니다.", null);
+        return sendResponseHttpByJson(SUCCESS, "스터디 둘러보기 조회 완료", responseDto);
+    }
 }
@@ -0,0 +1,63 @@
+package com.mmos.mmos.src.controller;
+
+import com.mmos.mmos.config.ResponseApiMessage;
+import com.mmos.mmos.src.domain.dto.userstudy.StudyMemberResponseDto;
+import com.mmos.mmos.src.service.StudyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import static com.mmos.mmos.config.HttpResponseStatus.SUCCESS;
+
+/**
+ * 스터디 멤버, 신청자, 초대한 유저 목록 v2
+ * v1 (/api/v1/studies) 과 달리 StudyMemberResponseDto 페이지로 응답한다. (유저스터디 인덱스, 전공, 멤버 상태 포함)
+ */
+@RestController
+@RequestMapping("/api/v2/studies")
+@RequiredArgsConstructor
+public class StudyMemberController extends BaseController {
+    private final StudyService studyService;
+
+    /**
+     * 스터디에 참가 요청을 보낸 유저 목록 조회 API
+     * @param studyIdx: 스터디 인덱스
+     * @param pageable: 페이징 기본 파라미터 (유저 인덱스 순)
+     */
+    @ResponseBody
+    @GetMapping("/applier/{studyIdx}")
+    public ResponseEntity<ResponseApiMessage> getStudyApplier(@PathVariable Long studyIdx, @PageableDefault(page = 0, size = 10) Pageable pageable) {
+        Page<StudyMemberResponseDto> responseDtoPage = studyService.getStudyApplierOrInviteePage(studyIdx, 5, pageable);
+
+        return sendResponseHttpByJson(SUCCESS, "GET APPLIERS.", responseDtoPage);
+    }
+
+    /**
+     * 스터디가 초대 요청을 보낸 유저 목록 조회 API
+     * @param studyIdx: 스터디 인덱스
+     * @param pageable: 페이징 기본 파라미터 (유저 인덱스 순)
+     */
+    @ResponseBody
+    @GetMapping("/invitee/{studyIdx}")
+    public ResponseEntity<ResponseApiMessage> getStudyInvitee(@PathVariable Long studyIdx, @PageableDefault(page = 0, size = 10) Pageable pageable) {
+        Page<StudyMemberResponseDto> responseDtoPage = studyService.getStudyApplierOrInviteePage(studyIdx, 4, pageable);
+
+        return sendResponseHttpByJson(SUCCESS, "GET INVITEES.", responseDtoPage);
+    }
+
+    /**
+     * 스터디 멤버 목록 조회 API
+     * @param studyIdx: 스터디 인덱스
+     * @param pageable: 페이징 기본 파라미터 (운영진 -> 멤버 순)
+     */
+    @ResponseBody
+    @GetMapping("/members/{studyIdx}")
+    public ResponseEntity<ResponseApiMessage> getStudyMembers(@PathVariable Long studyIdx, @PageableDefault(page = 0, size = 100) Pageable pageable) {
+        Page<StudyMemberResponseDto> responseDtoPage = studyService.getStudyMemberPage(studyIdx, pageable);
+
+        return sendResponseHttpByJson(SUCCESS, "GET MEMBERS.", responseDtoPage);
+    }
+}
@@ -2,10 +2,13 @@ package com.mmos.mmos.src.controller;
 
 import com.mmos.mmos.config.ResponseApiMessage;
 import com.mmos.mmos.src.domain.dto.studytime.StudyTimeResponseDto;
+import com.mmos.mmos.src.service.StudyPresence;
 import com.mmos.mmos.src.service.StudyTimeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static com.mmos.mmos.config.HttpResponseStatus.*;
 
@@ -15,6 +18,7 @@ import static com.mmos.mmos.config.HttpResponseStatus.*;
 public class StudyTimeController extends BaseController {
 
     private final StudyTimeService studyTimeService;
+    private final StudyPresence studyPresence;
 
     /*
         시작 시간 측정 및 마감 시간 측정은 당일의 일정에만 가능하도록 프론트에서 작업을 해야 할 것 같습니다.
@@ -50,4 +54,16 @@ public class StudyTimeController extends BaseController {
             return sendResponseHttpByJson(POST_STUDYTIME_INVALID_REQUEST, "Fail Set End Study Time.", planIdx);
         return sendResponseHttpByJson(SUCCESS, "Save Start Study Time.", responseDto);
     }
+
+    /**
+     * 스터디의 "지금 공부 중" 목록 구독 API (Server-Sent Events)
+     * 처음에 현재 목록(snapshot)을 보내고, 이후 공부 시작/종료 시 변경분(presence: START/END)을 보냄
+     * 스터디 멤버가 아니면 error 이벤트를 보내고 연결을 닫음
+     * @param userIdx: 구독하는 유저 인덱스
+     * @param studyIdx: 스터디 인덱스
+     */
+    @GetMapping(value = "/presence/{userIdx}/{studyIdx}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribePresence(@PathVariable Long userIdx, @PathVariable Long studyIdx) {
+        return studyPresence.subscribe(userIdx, studyIdx);
+    }
 }
@@ -6,6 +6,7 @@ import com.mmos.mmos.src.domain.dto.userstudy.UserStudyInviteDto;
 import com.mmos.mmos.src.domain.dto.userstudy.UserStudyResponseDto;
 import com.mmos.mmos.src.service.UserStudyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,8 +30,16 @@ public class UserStudyController extends BaseController {
     @ResponseBody
     @PostMapping("/invitation/{userStudyIdx}")
     public ResponseEntity<ResponseApiMessage> inviteStudy(@PathVariable Long userStudyIdx, @RequestBody UserStudyInviteDto requestDto) {
-        UserStudyResponseDto userStudyResponseDto = userStudyService.inviteStudy(userStudyIdx, requestDto);
+        UserStudyResponseDto userStudyResponseDto;
+        try {
+            userStudyResponseDto = userStudyService.inviteStudy(userStudyIdx, requestDto);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 초대/참가 요청이 동시에 저장되어 uk_userstudy_study_user 에 걸린 경우
+            return sendResponseHttpByJson(USERSTUDY_COMPLETE_REQUEST, "이미 처리된 요청입니다.", null);
+        }
 
+        if(userStudyResponseDto.getStatus().equals(USERSTUDY_TOO_MANY_REQUESTS))
+            return sendResponseHttpByJson(USERSTUDY_TOO_MANY_REQUESTS, "요청이 많습니다. 잠시 후 다시 시도해주세요.", null);
         if(userStudyResponseDto.getStatus().equals(USERSTUDY_COMPLETE_REQUEST))
             return sendResponseHttpByJson(USERSTUDY_COMPLETE_REQUEST, "이미 처리된 요청입니다.", null);
         else if(userStudyResponseDto.getStatus().equals(USERSTUDY_MEMBER_ALREADY_EXIST))
@@ -54,6 +63,8 @@ public class UserStudyController extends BaseController {
     public ResponseEntity<ResponseApiMessage> acceptInvite(@PathVariable Long studyIdx, @PathVariable Long userIdx) {
         UserStudyResponseDto userStudyResponseDto = userStudyService.acceptInvite(studyIdx, userIdx);
 
+        if(userStudyResponseDto.getStatus().equals(USERSTUDY_TOO_MANY_REQUESTS))
+            return sendResponseHttpByJson(USERSTUDY_TOO_MANY_REQUESTS, "요청이 많습니다. 잠시 후 다시 시도해주세요.", null);
         if(userStudyResponseDto.getStatus().equals(USERSTUDY_COMPLETE_REQUEST))
             return sendResponseHttpByJson(USERSTUDY_COMPLETE_REQUEST, "이미 처리된 요청입니다.", null);
         if(userStudyResponseDto.getStatus().equals(USERSTUDY_MEMBER_LIMIT_FULL))
@@ -108,8 +119,16 @@ public class UserStudyController extends BaseController {
     @ResponseBody
     @PostMapping("/attendance/{userIdx}")
     public ResponseEntity<ResponseApiMessage> attendRequest(@PathVariable Long userIdx, @RequestBody UserStudyAttendDto requestDto) {
-        UserStudyResponseDto userStudyResponseDto = userStudyService.attendRequest(userIdx, requestDto);
+        UserStudyResponseDto userStudyResponseDto;
+        try {
+            userStudyResponseDto = userStudyService.attendRequest(userIdx, requestDto);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 참가/초대 요청이 동시에 저장되어 uk_userstudy_study_user 에 걸린 경우
+            return sendResponseHttpByJson(USERSTUDY_COMPLETE_REQUEST, "이미 처리된 요청입니다.", null);
+        }
 
+        if(userStudyResponseDto.getStatus().equals(USERSTUDY_TOO_MANY_REQUESTS))
+            return sendResponseHttpByJson(USERSTUDY_TOO_MANY_REQUESTS, "요청이 많습니다. 잠시 후 다시 시도해주세요.", null);
         if(userStudyResponseDto.getStatus().equals(USERSTUDY_COMPLETE_REQUEST))
             return sendResponseHttpByJson(USERSTUDY_COMPLETE_REQUEST, "이미 처리된 요청입니다.", null);
         else if(userStudyResponseDto.getStatus().equals(USERSTUDY_ALREADY_EXIST))
@@ -130,6 +149,8 @@ public class UserStudyController extends BaseController {
     public ResponseEntity<ResponseApiMessage> acceptAttend(@PathVariable Long userStudyIdx1, @PathVariable Long userStudyIdx2) {
         UserStudyResponseDto userStudyResponseDto = userStudyService.acceptAttend(userStudyIdx1, userStudyIdx2);
 
+        if(userStudyResponseDto.getStatus().equals(USERSTUDY_TOO_MANY_REQUESTS))
+            return sendResponseHttpByJson(USERSTUDY_TOO_MANY_REQUESTS, "요청이 많습니다. 잠시 후 다시 시도해주세요.", null);
         if(userStudyResponseDto.getStatus().equals(USERSTUDY_COMPLETE_REQUEST))
             return sendResponseHttpByJson(USERSTUDY_COMPLETE_REQUEST, "이미 처리된 요청입니다.", null);
         else if(userStudyResponseDto.getStatus().equals(USERSTUDY_INVALID_REQUEST))
@@ -1,9 +1,10 @@
 package com.mmos.mmos.src.domain.dto.calendar;
 
 import com.mmos.mmos.config.HttpResponseStatus;
+import com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordSumDto;
 import com.mmos.mmos.src.domain.dto.plan.PlanResponseDto;
+import com.mmos.mmos.src.domain.dto.project.ProjectResponseDto;
 import com.mmos.mmos.src.domain.entity.Calendar;
-import com.mmos.mmos.src.domain.entity.Project;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -18,10 +19,10 @@ public class CalendarResponseDto {
     private Long monthlyStudyTime;
     private Long monthlyCompletedPlanNum;
     private HttpResponseStatus status = null;
-    private List<Project> projects;
+    private List<ProjectResponseDto> projects;
     private List<PlanResponseDto> plans;
 
-    public CalendarResponseDto(Calendar calendar, HttpResponseStatus status, List<Project> projects, List<PlanResponseDto> plans) {
+    public CalendarResponseDto(Calendar calendar, HttpResponseStatus status, List<ProjectResponseDto> projects, List<PlanResponseDto> plans) {
         this.idx = calendar.getCalendarIndex();
         this.year = calendar.getCalendarYear();
         this.month = calendar.getCalendarMonth();
@@ -32,6 +33,17 @@ public class CalendarResponseDto {
         this.plans = plans;
     }
 
+    public CalendarResponseDto(Long idx, Integer year, Integer month, DailyRecordSumDto monthlyRecord, HttpResponseStatus status, List<ProjectResponseDto> projects, List<PlanResponseDto> plans) {
+        this.idx = idx;
+        this.year = year;
+        this.month = month;
+        this.monthlyStudyTime = monthlyRecord.getStudyTime();
+        this.monthlyCompletedPlanNum = monthlyRecord.getCompletedPlanNum();
+        this.projects = projects;
+        this.status = status;
+        this.plans = plans;
+    }
+
     public CalendarResponseDto(HttpResponseStatus status) {
         this.idx = null;
         this.year = null;
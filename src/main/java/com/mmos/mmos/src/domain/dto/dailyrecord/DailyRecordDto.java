@@ -0,0 +1,21 @@
+package com.mmos.mmos.src.domain.dto.dailyrecord;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+public class DailyRecordDto {
+
+    private Long userIdx;
+    private LocalDate date;
+    private Long studyTime;
+    private Long completedPlanNum;
+
+    public DailyRecordDto(Long userIdx, LocalDate date, Long studyTime, Long completedPlanNum) {
+        this.userIdx = userIdx;
+        this.date = date;
+        this.studyTime = studyTime;
+        this.completedPlanNum = completedPlanNum;
+    }
+}
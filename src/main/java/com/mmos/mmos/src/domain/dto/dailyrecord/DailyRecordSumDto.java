@@ -0,0 +1,15 @@
+package com.mmos.mmos.src.domain.dto.dailyrecord;
+
+import lombok.Getter;
+
+@Getter
+public class DailyRecordSumDto {
+
+    private Long studyTime;
+    private Long completedPlanNum;
+
+    public DailyRecordSumDto(Long studyTime, Long completedPlanNum) {
+        this.studyTime = studyTime;
+        this.completedPlanNum = completedPlanNum;
+    }
+}
@@ -0,0 +1,14 @@
+package com.mmos.mmos.src.domain.dto.friend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 친구 관계 캐시 로딩용 (user 기준 상태)
+@Getter
+@AllArgsConstructor
+public class FriendEdgeDto {
+
+    private Long userIdx;
+    private Long friendUserIdx;
+    private Integer friendStatus;
+}
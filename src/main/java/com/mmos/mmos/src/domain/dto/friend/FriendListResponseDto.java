@@ -0,0 +1,19 @@
+package com.mmos.mmos.src.domain.dto.friend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 친구, 보낸/받은 친구 요청 목록용
+@Getter
+@AllArgsConstructor
+public class FriendListResponseDto {
+
+    private Long idx;
+    private Long friendIdx;
+    private Boolean isFixed;
+    private Integer friendStatus;
+    private String name;
+    private String nickname;
+    private Long studentId;
+    private String major;
+}
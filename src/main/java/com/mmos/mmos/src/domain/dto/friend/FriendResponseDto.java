@@ -17,23 +17,16 @@ public class FriendResponseDto {
     private HttpResponseStatus status;
     private User user;
 
-    public FriendResponseDto(Friend friend, User user, HttpResponseStatus status) {
+    // userIdx 기준으로 본 친구 관계, user 는 상대 유저
+    public FriendResponseDto(Friend friend, Long userIdx, User user, HttpResponseStatus status) {
         this.idx = friend.getFriendIndex();
-        this.isFixed = friend.getFriendIsFixed();
-        this.friendStatus = friend.getFriendStatus();
-        this.friendIdx = friend.getFriendUserIndex();
+        this.isFixed = friend.getIsFixedOf(userIdx);
+        this.friendStatus = friend.getFriendStatusOf(userIdx);
+        this.friendIdx = friend.getOtherUserIndex(userIdx);
         this.user = user;
         this.status = status;
     }
 
-    public FriendResponseDto(Friend friend, User user) {
-        this.idx = friend.getFriendIndex();
-        this.isFixed = friend.getFriendIsFixed();
-        this.friendStatus = friend.getFriendStatus();
-        this.friendIdx = friend.getFriendUserIndex();
-        this.user = user;
-    }
-
     public FriendResponseDto(HttpResponseStatus status) {
         this.status = status;
     }
@@ -0,0 +1,29 @@
+package com.mmos.mmos.src.domain.dto.friend;
+
+import lombok.Getter;
+
+// 추천 친구 목록용
+@Getter
+public class FriendSuggestionResponseDto {
+
+    private Long userIdx;
+    private String name;
+    private String nickname;
+    private Long studentId;
+    private String major;
+    private Integer mutualFriendNum;
+    private Integer sharedStudyNum;
+
+    public FriendSuggestionResponseDto(Long userIdx, String name, String nickname, Long studentId, String major) {
+        this.userIdx = userIdx;
+        this.name = name;
+        this.nickname = nickname;
+        this.studentId = studentId;
+        this.major = major;
+    }
+
+    public void setSuggestion(Integer mutualFriendNum, Integer sharedStudyNum) {
+        this.mutualFriendNum = mutualFriendNum;
+        this.sharedStudyNum = sharedStudyNum;
+    }
+}
@@ -0,0 +1,24 @@
+package com.mmos.mmos.src.domain.dto.image;
+
+import com.mmos.mmos.config.HttpResponseStatus;
+import lombok.Getter;
+
+@Getter
+public class ImageResponseDto {
+
+    private String url;
+
+    private String thumbnailUrl;
+
+    private HttpResponseStatus status;
+
+    public ImageResponseDto(String url, String thumbnailUrl, HttpResponseStatus status) {
+        this.url = url;
+        this.thumbnailUrl = thumbnailUrl;
+        this.status = status;
+    }
+
+    public ImageResponseDto(HttpResponseStatus status) {
+        this.status = status;
+    }
+}
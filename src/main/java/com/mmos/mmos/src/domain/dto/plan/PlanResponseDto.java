@@ -38,6 +38,16 @@ public class PlanResponseDto {
         this.studyTime = plan.getPlanStudyTime();
         this.date = date;
     }
+    public PlanResponseDto(Long idx, String name, Boolean isComplete, Boolean isStudy, Boolean isVisible, Long studyTime, LocalDate date) {
+        this.idx = idx;
+        this.name = name;
+        this.isComplete = isComplete;
+        this.isStudy = isStudy;
+        this.isVisible = isVisible;
+        this.studyTime = studyTime;
+        this.date = date;
+    }
+
     public PlanResponseDto(HttpResponseStatus status) {
         this.status = status;
     }
@@ -0,0 +1,21 @@
+package com.mmos.mmos.src.domain.dto.planner;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+public class PlannerKeyDto {
+
+    private Long plannerIdx;
+    private Long calendarIdx;
+    private Long userIdx;
+    private LocalDate date;
+
+    public PlannerKeyDto(Long plannerIdx, Long calendarIdx, Long userIdx, LocalDate date) {
+        this.plannerIdx = plannerIdx;
+        this.calendarIdx = calendarIdx;
+        this.userIdx = userIdx;
+        this.date = date;
+    }
+}
@@ -1,9 +1,9 @@
 package com.mmos.mmos.src.domain.dto.planner;
 
 import com.mmos.mmos.config.HttpResponseStatus;
+import com.mmos.mmos.src.domain.dto.project.ProjectResponseDto;
 import com.mmos.mmos.src.domain.entity.Plan;
 import com.mmos.mmos.src.domain.entity.Planner;
-import com.mmos.mmos.src.domain.entity.Project;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -20,10 +20,10 @@ public class PlannerResponseDto {
     private Long dailyStudyTime;
     private Long dailyScheduleNum;
     private List<Plan> plans;
-    private List<Project> projects;
+    private List<ProjectResponseDto> projects;
     private HttpResponseStatus status = null;
 
-    public PlannerResponseDto(Planner planner, List<Project> projects, HttpResponseStatus status) {
+    public PlannerResponseDto(Planner planner, List<ProjectResponseDto> projects, HttpResponseStatus status) {
         this.idx = planner.getPlannerIndex();
         this.date = planner.getPlannerDate();
         this.memo = planner.getPlannerMemo();
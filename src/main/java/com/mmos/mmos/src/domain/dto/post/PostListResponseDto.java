@@ -0,0 +1,42 @@
+package com.mmos.mmos.src.domain.dto.post;
+
+import com.mmos.mmos.utils.ImagePath;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+// 게시글 목록 조회용 (내용 제외)
+@Getter
+public class PostListResponseDto {
+
+    private Long idx;
+
+    private String title;
+
+    private String image;
+
+    // 목록에서는 썸네일 사용
+    private String thumbnail;
+
+    private Boolean isNotice;
+
+    private String writer;
+
+    private Long writerIdx;
+
+    private Timestamp createdAt;
+
+    private Timestamp updatedAt;
+
+    public PostListResponseDto(Long idx, String title, String image, Boolean isNotice, String writer, Long writerIdx, Timestamp createdAt, Timestamp updatedAt) {
+        this.idx = idx;
+        this.title = title;
+        this.image = image;
+        this.thumbnail = ImagePath.thumbnailUrl(image);
+        this.isNotice = isNotice;
+        this.writer = writer;
+        this.writerIdx = writerIdx;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mmos.mmos.src.domain.dto.post;
+
+import com.mmos.mmos.config.HttpResponseStatus;
+import lombok.Getter;
+
+import java.util.List;
+
+// 게시글 무한 스크롤 조회 (다음 요청 시 nextCursor 를 그대로 전달)
+@Getter
+public class PostScrollResponseDto {
+
+    private List<PostListResponseDto> posts;
+
+    private String nextCursor;
+
+    private Boolean hasNext;
+
+    private HttpResponseStatus status;
+
+    public PostScrollResponseDto(List<PostListResponseDto> posts, String nextCursor, Boolean hasNext, HttpResponseStatus status) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.status = status;
+    }
+
+    public PostScrollResponseDto(HttpResponseStatus status) {
+        this.status = status;
+    }
+}
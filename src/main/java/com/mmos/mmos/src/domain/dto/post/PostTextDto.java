@@ -0,0 +1,20 @@
+package com.mmos.mmos.src.domain.dto.post;
+
+import lombok.Getter;
+
+// 검색 인덱스 생성용 (제목, 내용)
+@Getter
+public class PostTextDto {
+
+    private Long idx;
+
+    private String title;
+
+    private String contents;
+
+    public PostTextDto(Long idx, String title, String contents) {
+        this.idx = idx;
+        this.title = title;
+        this.contents = contents;
+    }
+}
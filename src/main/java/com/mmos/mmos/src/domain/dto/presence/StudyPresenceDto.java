@@ -0,0 +1,15 @@
+package com.mmos.mmos.src.domain.dto.presence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+// 스터디에서 지금 공부 중인 유저
+@Getter
+@AllArgsConstructor
+public class StudyPresenceDto {
+
+    private Long userIdx;
+    private Timestamp startTime;
+}
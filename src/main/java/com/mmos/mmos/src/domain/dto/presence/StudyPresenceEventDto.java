@@ -0,0 +1,16 @@
+package com.mmos.mmos.src.domain.dto.presence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+// 공부 시작(START)/종료(END) 알림 (종료 시 startTime 은 null)
+@Getter
+@AllArgsConstructor
+public class StudyPresenceEventDto {
+
+    private String type;
+    private Long userIdx;
+    private Timestamp startTime;
+}
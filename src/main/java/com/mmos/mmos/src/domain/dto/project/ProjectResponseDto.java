@@ -30,6 +30,15 @@ public class ProjectResponseDto {
         this.status = status;
     }
 
+    public ProjectResponseDto(Long projectIndex, LocalDate projectStartTime, LocalDate projectEndTime, String projectName, Boolean projectIsComplete, Boolean projectIsVisible) {
+        this.projectIndex = projectIndex;
+        this.projectStartTime = projectStartTime;
+        this.projectEndTime = projectEndTime;
+        this.projectName = projectName;
+        this.projectIsComplete = projectIsComplete;
+        this.projectIsVisible = projectIsVisible;
+    }
+
     public ProjectResponseDto(HttpResponseStatus status) {
         this.projectIndex = null;
         this.projectStartTime = null;
@@ -0,0 +1,19 @@
+package com.mmos.mmos.src.domain.dto.streak;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+public class StreakDto {
+
+    private Long userIdx;
+    private LocalDate date;
+    private Integer level;
+
+    public StreakDto(Long userIdx, LocalDate date, Integer level) {
+        this.userIdx = userIdx;
+        this.date = date;
+        this.level = level;
+    }
+}
@@ -27,6 +27,11 @@ public class StreakResponseDto {
         this.date = streak.getStreakDate();
     }
 
+    public StreakResponseDto(LocalDate date, Integer level) {
+        this.level = level;
+        this.date = date;
+    }
+
     public StreakResponseDto(HttpResponseStatus status) {
         this.status = status;
     }
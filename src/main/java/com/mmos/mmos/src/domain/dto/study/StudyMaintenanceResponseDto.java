@@ -0,0 +1,21 @@
+package com.mmos.mmos.src.domain.dto.study;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 스터디 일괄 정리 진행 상황
+@Getter
+@AllArgsConstructor
+public class StudyMaintenanceResponseDto {
+
+    private Boolean isRunning;
+    // 진행 중인 단계 (MEMBER_NUM: 스터디원 수 재계산, WEEKLY_TIME: 지난 주간 공부시간 삭제)
+    private String step;
+    private Long processedNum;
+    private Long totalNum;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Boolean isFailed;
+}
@@ -0,0 +1,41 @@
+package com.mmos.mmos.src.domain.dto.study;
+
+import lombok.Getter;
+
+// 스터디 랭킹 계산용
+@Getter
+public class StudyRankDto {
+
+    private Long studyIdx;
+    private Integer memberLimit;
+    private String name;
+    private Boolean isVisible;
+    private Boolean isComplete;
+    private Integer memberNum;
+    // 이번 주 공부시간 합계, 공부한 스터디원 수
+    private Long totalStudyTime = 0L;
+    private Long contributorNum = 0L;
+
+    public StudyRankDto(Long studyIdx, Integer memberLimit, String name, Boolean isVisible, Boolean isComplete, Integer memberNum) {
+        this.studyIdx = studyIdx;
+        this.memberLimit = memberLimit;
+        this.name = name;
+        this.isVisible = isVisible;
+        this.isComplete = isComplete;
+        this.memberNum = memberNum;
+    }
+
+    // 랭킹에 넣기 전에만 설정
+    public void setWeeklyTime(Long totalStudyTime, Long contributorNum) {
+        this.totalStudyTime = totalStudyTime;
+        this.contributorNum = contributorNum;
+    }
+
+    public double getAverageStudyTime() {
+        return contributorNum == 0 ? 0 : (double) totalStudyTime / contributorNum;
+    }
+
+    public StudyResponseDto toResponseDto() {
+        return new StudyResponseDto(studyIdx, memberLimit, memberNum, name, isVisible, isComplete);
+    }
+}
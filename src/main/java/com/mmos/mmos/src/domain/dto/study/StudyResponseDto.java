@@ -9,6 +9,7 @@ public class StudyResponseDto {
 
     private Long index;
     private Integer memberLimit;
+    private Integer memberNum;
     private String name;
     private Boolean isVisible;
     private Boolean isComplete;
@@ -17,11 +18,21 @@ public class StudyResponseDto {
     public StudyResponseDto(Study study) {
         this.index = study.getStudyIndex();
         this.memberLimit = study.getStudyMemberLimit();
+        this.memberNum = study.getStudyMemberNum();
         this.name = study.getStudyName();
         this.isVisible = study.getStudyIsVisible();
         this.isComplete = study.getStudyIsComplete();
     }
 
+    public StudyResponseDto(Long index, Integer memberLimit, Integer memberNum, String name, Boolean isVisible, Boolean isComplete) {
+        this.index = index;
+        this.memberLimit = memberLimit;
+        this.memberNum = memberNum;
+        this.name = name;
+        this.isVisible = isVisible;
+        this.isComplete = isComplete;
+    }
+
     public StudyResponseDto(HttpResponseStatus status) {
         this.status = status;
     }
@@ -0,0 +1,14 @@
+package com.mmos.mmos.src.domain.dto.study;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 스터디의 주간 공부시간 합계, 공부한 스터디원 수
+@Getter
+@AllArgsConstructor
+public class StudyWeeklyTimeDto {
+
+    private Long studyIdx;
+    private Long totalTime;
+    private Long contributorNum;
+}
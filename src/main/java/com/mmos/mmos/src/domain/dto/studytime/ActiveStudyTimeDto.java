@@ -0,0 +1,31 @@
+package com.mmos.mmos.src.domain.dto.studytime;
+
+import lombok.Getter;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+// 진행 중인 공부시간과 마감 시 반영되어야 할 계획/플래너/캘린더/스터디
+@Getter
+public class ActiveStudyTimeDto {
+
+    private Long studytimeIdx;
+    private Long planIdx;
+    private Long plannerIdx;
+    private Long calendarIdx;
+    private Long studyIdx;
+    private Long userIdx;
+    private LocalDate plannerDate;
+    private Timestamp startTime;
+
+    public ActiveStudyTimeDto(Long studytimeIdx, Long planIdx, Long plannerIdx, Long calendarIdx, Long studyIdx, Long userIdx, LocalDate plannerDate, Timestamp startTime) {
+        this.studytimeIdx = studytimeIdx;
+        this.planIdx = planIdx;
+        this.plannerIdx = plannerIdx;
+        this.calendarIdx = calendarIdx;
+        this.studyIdx = studyIdx;
+        this.userIdx = userIdx;
+        this.plannerDate = plannerDate;
+        this.startTime = startTime;
+    }
+}
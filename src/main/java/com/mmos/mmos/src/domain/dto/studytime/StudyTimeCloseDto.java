@@ -0,0 +1,35 @@
+package com.mmos.mmos.src.domain.dto.studytime;
+
+import lombok.Getter;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+// 마감된 공부시간이 반영되어야 할 계획/플래너/캘린더/스터디/일별 기록
+@Getter
+public class StudyTimeCloseDto {
+
+    private Long studytimeIdx;
+    private Long planIdx;
+    private Long plannerIdx;
+    private Long calendarIdx;
+    private Long studyIdx;
+    private Long userIdx;
+    private LocalDate date;
+    private Long time;
+
+    public StudyTimeCloseDto(Long studytimeIdx, Long planIdx, Long plannerIdx, Long calendarIdx, Long studyIdx, Long userIdx, LocalDate date, Long time) {
+        this.studytimeIdx = studytimeIdx;
+        this.planIdx = planIdx;
+        this.plannerIdx = plannerIdx;
+        this.calendarIdx = calendarIdx;
+        this.studyIdx = studyIdx;
+        this.userIdx = userIdx;
+        this.date = date;
+        this.time = time;
+    }
+
+    public StudyTimeCloseDto(Long studytimeIdx, Long planIdx, Long plannerIdx, Long calendarIdx, Long studyIdx, Long userIdx, LocalDate date, Timestamp startTime, Timestamp endTime) {
+        this(studytimeIdx, planIdx, plannerIdx, calendarIdx, studyIdx, userIdx, date, (endTime.getTime() - startTime.getTime()) / 60000);
+    }
+}
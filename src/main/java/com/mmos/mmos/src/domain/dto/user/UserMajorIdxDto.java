@@ -0,0 +1,13 @@
+package com.mmos.mmos.src.domain.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 친구 추천 계산용 (전공이 없으면 majorIdx 는 null)
+@Getter
+@AllArgsConstructor
+public class UserMajorIdxDto {
+
+    private Long userIdx;
+    private Long majorIdx;
+}
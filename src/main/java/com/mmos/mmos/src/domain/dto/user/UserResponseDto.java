@@ -45,6 +45,19 @@ public class UserResponseDto {
         this.status = status;
     }
 
+    // 목록 조회용 (비밀번호 제외)
+    public UserResponseDto(Long idx, String id, String name, String nickname, String email,
+                           Long totalStudyTime, Long totalSchedule, Long studentId) {
+        this.idx = idx;
+        this.id = id;
+        this.name = name;
+        this.nickname = nickname;
+        this.email = email;
+        this.totalStudyTime = totalStudyTime;
+        this.totalSchedule = totalSchedule;
+        this.studentId = studentId;
+    }
+
     public UserResponseDto(HttpResponseStatus status) {
         this.status = status;
     }
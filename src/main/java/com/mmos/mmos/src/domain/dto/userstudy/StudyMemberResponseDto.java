@@ -0,0 +1,18 @@
+package com.mmos.mmos.src.domain.dto.userstudy;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 스터디 멤버, 신청자, 초대한 유저 목록용
+@Getter
+@AllArgsConstructor
+public class StudyMemberResponseDto {
+
+    private Long userStudyIdx;
+    private Long userIdx;
+    private String name;
+    private String nickname;
+    private Long studentId;
+    private String major;
+    private Integer memberStatus;
+}
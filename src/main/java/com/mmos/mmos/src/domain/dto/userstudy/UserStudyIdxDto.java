@@ -0,0 +1,13 @@
+package com.mmos.mmos.src.domain.dto.userstudy;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 유저가 멤버로 속한 스터디
+@Getter
+@AllArgsConstructor
+public class UserStudyIdxDto {
+
+    private Long userIdx;
+    private Long studyIdx;
+}
@@ -15,6 +15,7 @@ import java.util.List;
 @Getter
 @NoArgsConstructor
 @DynamicInsert
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_calendar_user_month", columnNames = {"userIndex", "calendarYear", "calendarMonth"}))
 public class Calendar {
 
     @Id
@@ -54,14 +55,6 @@ public class Calendar {
         this.calendarPlanners.add(planner);
     }
 
-    public void addTime(Long time) {
-        this.calendarMonthlyStudyTime += time;
-    }
-
-    public void minusTime(Long time) {
-        this.calendarMonthlyStudyTime -= time;
-    }
-
     public void updateMonthlyPlanNum(Boolean status){
         if(status){
             this.calendarMonthlyCompletedPlanNum++;
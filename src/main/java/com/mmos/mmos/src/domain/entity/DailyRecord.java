@@ -0,0 +1,44 @@
+package com.mmos.mmos.src.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+
+// 유저별 하루 공부시간, 완료한 계획 수 (캘린더, 스트릭, 뱃지 집계용), 캘린더에 표시되는 계획 + 프로젝트 수
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_dailyrecord_user_date", columnNames = {"userIndex", "dailyrecordDate"}))
+public class DailyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long dailyrecordIndex;
+
+    @Column
+    private LocalDate dailyrecordDate;
+
+    @Column
+    @ColumnDefault("0")
+    private Long dailyrecordStudyTime = 0L;
+
+    @Column
+    @ColumnDefault("0")
+    private Long dailyrecordCompletedPlanNum = 0L;
+
+    @Column
+    @ColumnDefault("0")
+    private Long dailyrecordVisibleNum = 0L;
+
+    @ManyToOne
+    @JoinColumn(name = "userIndex")
+    private User user;
+
+    public DailyRecord(User user, LocalDate date) {
+        this.user = user;
+        this.dailyrecordDate = date;
+    }
+}
@@ -5,19 +5,35 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+/**
+ * 친구 관계 (두 유저 사이에 한 행만 저장)
+ * user 는 유저 인덱스가 작은 쪽, friendUserIndex 는 큰 쪽이며 상태와 고정 여부는 user 기준으로 저장한다.
+ * 상대 유저 기준 값은 getFriendStatusOf, getIsFixedOf 로 구한다.
+ */
 @Entity
 @Getter
 @NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_friend_user_friend", columnNames = {"userIndex", "friendUserIndex"}),
+        indexes = {
+                @Index(name = "idx_friend_user_status", columnList = "userIndex, friendStatus"),
+                @Index(name = "idx_friend_friend_status", columnList = "friendUserIndex, friendStatus")
+        })
 public class Friend {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long friendIndex;
 
+    // user 가 상단에 고정했는지
     @Column
     private Boolean friendIsFixed = false;
 
+    // friendUserIndex 유저가 상단에 고정했는지
+    @Column
+    private Boolean friendIsFixedByFriend = false;
+
     /*
+        user 기준
         1: 친구
         2: 내가 친구 요청을 보냄 (send)
         3: 상대방이 나에게 친구 요청을 보냄 (receive)
@@ -25,13 +41,13 @@ public class Friend {
     @Column
     private Integer friendStatus;
 
-    // 내 역매핑
+    // 유저 인덱스가 작은 쪽
     @JsonBackReference
     @ManyToOne
     @JoinColumn(name = "userIndex")
     private User user;
 
-    // 친구 인덱스
+    // 유저 인덱스가 큰 쪽
     @Column
     private Long friendUserIndex;
 
@@ -41,15 +57,46 @@ public class Friend {
         this.user = user;
     }
 
-    public void updateStatus(Integer friendStatus) {
-        this.friendStatus = friendStatus;
+    // 보내는 유저와 받는 유저로 친구 요청 생성
+    public static Friend request(User sendUser, User receiveUser) {
+        if (sendUser.getUserIndex() < receiveUser.getUserIndex())
+            return new Friend(2, receiveUser.getUserIndex(), sendUser);
+        return new Friend(3, sendUser.getUserIndex(), receiveUser);
+    }
+
+    // 상대 유저 기준 상태 (보냄 <-> 받음)
+    public static Integer reverseStatus(Integer friendStatus) {
+        if (friendStatus == 2)
+            return 3;
+        if (friendStatus == 3)
+            return 2;
+        return friendStatus;
+    }
+
+    public boolean isUser(Long userIdx) {
+        return user.getUserIndex().equals(userIdx);
     }
 
-    public void updateIsFixedToTrue() {
-        this.friendIsFixed = true;
+    public Long getOtherUserIndex(Long userIdx) {
+        return isUser(userIdx) ? friendUserIndex : user.getUserIndex();
+    }
+
+    public Integer getFriendStatusOf(Long userIdx) {
+        return isUser(userIdx) ? friendStatus : reverseStatus(friendStatus);
+    }
+
+    public Boolean getIsFixedOf(Long userIdx) {
+        return isUser(userIdx) ? friendIsFixed : friendIsFixedByFriend;
+    }
+
+    public void updateStatus(Integer friendStatus) {
+        this.friendStatus = friendStatus;
     }
 
-    public void updateIsFixedToFalse() {
-        this.friendIsFixed = false;
+    public void updateIsFixed(Long userIdx, Boolean isFixed) {
+        if (isUser(userIdx))
+            this.friendIsFixed = isFixed;
+        else
+            this.friendIsFixedByFriend = isFixed;
     }
 }
@@ -0,0 +1,43 @@
+package com.mmos.mmos.src.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유저별 추천 친구 목록 (FriendSuggestionJob 이 매일 다시 계산)
+ * 한 번에 조회하도록 추천 순서대로 "유저 인덱스:함께 아는 친구 수:함께하는 스터디 수" 를 쉼표로 이어서 저장한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_friendsuggestion_user", columnNames = "userIndex"))
+public class FriendSuggestion {
+
+    public static final int MAX_CANDIDATE_NUM = 50;
+    // 후보 한 명당 최대 길이 (유저 인덱스 19자리 + ':' + int 10자리 + ':' + int 10자리 + ',')
+    private static final int CANDIDATE_LENGTH = 19 + 1 + 10 + 1 + 10 + 1;
+    public static final int CANDIDATES_LENGTH = MAX_CANDIDATE_NUM * CANDIDATE_LENGTH;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long friendsuggestionIndex;
+
+    @Column(length = CANDIDATES_LENGTH)
+    private String friendsuggestionCandidates;
+
+    @Column
+    private LocalDateTime friendsuggestionUpdatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "userIndex")
+    private User user;
+
+    public FriendSuggestion(User user, String candidates, LocalDateTime updatedAt) {
+        this.user = user;
+        this.friendsuggestionCandidates = candidates;
+        this.friendsuggestionUpdatedAt = updatedAt;
+    }
+}
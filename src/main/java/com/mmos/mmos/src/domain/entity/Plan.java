@@ -72,12 +72,4 @@ public class Plan {
         this.planIsVisible = planIsVisible;
     }
 
-    public void addStudyTime(StudyTime studyTime) {
-        this.planStudytimeTimes.add(studyTime);
-    }
-
-    public void addTime(Long time) {
-        this.planStudyTime += time;
-    }
-
 }
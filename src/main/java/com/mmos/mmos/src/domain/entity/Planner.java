@@ -18,6 +18,7 @@ import java.util.List;
 @Getter
 @NoArgsConstructor
 @DynamicInsert
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_planner_calendar_date", columnNames = {"calendarIndex", "plannerDate"}))
 public class Planner {
 
     @Id
@@ -69,14 +70,6 @@ public class Planner {
         this.plannerMemo = plannerMemo;
     }
 
-    public void addTime(Long time) {
-        this.plannerDailyStudyTime += time;
-    }
-
-    public void minusTime(Long time) {
-        this.plannerDailyStudyTime -= time;
-    }
-
     public void updateDailyScheduleNum(Boolean status){
         if(status){
             this.plannerDailyScheduleNum++;
@@ -13,6 +13,10 @@ import java.sql.Timestamp;
 @Getter
 @NoArgsConstructor
 @DynamicInsert
+@Table(indexes = {
+        @Index(name = "idx_post_notice_index", columnList = "postIsNotice, postIndex"),
+        @Index(name = "idx_post_study_notice_index", columnList = "studyIndex, postIsNotice, postIndex")
+})
 public class Post {
 
     @Id
@@ -57,19 +61,24 @@ public class Post {
         this.postWriterIndex = user.getUserIndex();
         this.postWriterName = user.getUserName();
         this.study = study;
+        this.postCreatedAt = new Timestamp(System.currentTimeMillis());
+        this.postUpdatedAt = this.postCreatedAt;
     }
 
 
 
     public void updateTitle(String title) {
         this.postTitle = title;
+        this.postUpdatedAt = new Timestamp(System.currentTimeMillis());
     }
 
     public void updateContents(String contents) {
         this.postContents = contents;
+        this.postUpdatedAt = new Timestamp(System.currentTimeMillis());
     }
 
     public void updateImage(String image) {
         this.postImage = image;
+        this.postUpdatedAt = new Timestamp(System.currentTimeMillis());
     }
 }
\ No newline at end of file
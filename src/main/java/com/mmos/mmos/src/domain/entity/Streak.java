@@ -10,6 +10,7 @@ import java.time.LocalDate;
 @Entity
 @Getter
 @NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_streak_user_date", columnNames = {"userIndex", "streakDate"}))
 public class Streak {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
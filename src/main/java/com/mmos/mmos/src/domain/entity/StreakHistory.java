@@ -0,0 +1,74 @@
+package com.mmos.mmos.src.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * 유저별 스트릭 기록
+ * 하루 스트릭 단계(0~3)를 2bit 로 저장 (1년 = 92byte)
+ * streakhistoryStartYear 의 1월 1일부터 하루씩 이어서 저장한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class StreakHistory {
+
+    private static final int DAYS_PER_BYTE = 4;
+    private static final int BYTES_PER_YEAR = (366 + DAYS_PER_BYTE - 1) / DAYS_PER_BYTE;
+
+    @Id
+    private Long userIndex;
+
+    @Column
+    private Integer streakhistoryStartYear;
+
+    // 마지막으로 스트릭을 계산한 날짜
+    @Column
+    private LocalDate streakhistoryLastDate;
+
+    @Column(length = 4096)
+    private byte[] streakhistoryLevels = new byte[0];
+
+    public StreakHistory(Long userIndex, Integer startYear) {
+        this.userIndex = userIndex;
+        this.streakhistoryStartYear = startYear;
+    }
+
+    public int getLevel(LocalDate date) {
+        long day = toDay(date);
+        if (day < 0 || day / DAYS_PER_BYTE >= streakhistoryLevels.length)
+            return 0;
+        int shift = (int) (day % DAYS_PER_BYTE) * 2;
+        return (streakhistoryLevels[(int) (day / DAYS_PER_BYTE)] >> shift) & 0b11;
+    }
+
+    public void updateLevel(LocalDate date, int level) {
+        long day = toDay(date);
+        if (day < 0)
+            return;
+        int index = (int) (day / DAYS_PER_BYTE);
+        // 1년 단위로 늘림
+        if (index >= streakhistoryLevels.length) {
+            int length = (index / BYTES_PER_YEAR + 1) * BYTES_PER_YEAR;
+            streakhistoryLevels = Arrays.copyOf(streakhistoryLevels, length);
+        }
+        int shift = (int) (day % DAYS_PER_BYTE) * 2;
+        streakhistoryLevels[index] = (byte) ((streakhistoryLevels[index] & ~(0b11 << shift)) | ((level & 0b11) << shift));
+
+        if (streakhistoryLastDate == null || streakhistoryLastDate.isBefore(date))
+            streakhistoryLastDate = date;
+    }
+
+    public boolean isEvaluated(LocalDate date) {
+        return streakhistoryLastDate != null && !streakhistoryLastDate.isBefore(date);
+    }
+
+    private long toDay(LocalDate date) {
+        return ChronoUnit.DAYS.between(LocalDate.of(streakhistoryStartYear, 1, 1), date);
+    }
+}
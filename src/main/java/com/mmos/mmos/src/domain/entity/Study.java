@@ -5,6 +5,7 @@ import com.mmos.mmos.src.domain.dto.study.StudySaveRequestDto;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +14,11 @@ import java.util.List;
 @Setter
 @Getter
 @NoArgsConstructor
+// 스터디원 수는 UPDATE 쿼리로만 바꾸므로, 불러온 엔티티의 값으로 덮어쓰지 않도록 바뀐 컬럼만 UPDATE
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_study_directory_index", columnList = "studyIsVisible, studyIsComplete, studyIndex"),
+        @Index(name = "idx_study_directory_member", columnList = "studyIsVisible, studyIsComplete, studyMemberNum, studyIndex")})
 public class Study {
 
     @Id
@@ -47,9 +53,6 @@ public class Study {
     @Column
     private Boolean studyIsComplete = false;
 
-    @Column
-    private Long studyAverageStudyTime = 0L;
-
     public void updateStudyName(String studyName) {
         this.studyName = studyName;
     }
@@ -67,28 +70,4 @@ public class Study {
     public void addUserStudy(UserStudy userStudy){
         this.studyUserstudies.add(userStudy);
     }
-
-    public void plusMemberNum() {
-        this.studyMemberNum++;
-    }
-    public void minusMemberNum() {
-        this.studyMemberNum--;
-    }
-
-    public void plusAverageStudyTime(Long studyTime) {
-        this.studyAverageStudyTime = (this.studyAverageStudyTime * studyMemberNum + studyTime) / studyMemberNum;
-    }
-
-    public void minusAverageStudyTime(Long studyTime) {
-        Long newAvgTime = this.studyAverageStudyTime * studyMemberNum;
-        newAvgTime -= studyTime;
-        if(newAvgTime <= 0)
-            this.studyAverageStudyTime = 0L;
-        else
-            this.studyAverageStudyTime = newAvgTime / studyMemberNum;
-    }
-
-    public void resetAvgStudyTime() {
-        this.studyAverageStudyTime = 0L;
-    }
 }
@@ -11,6 +11,7 @@ import java.sql.Timestamp;
 @Entity
 @Getter
 @NoArgsConstructor
+@Table(indexes = @Index(name = "idx_studytime_end_time", columnList = "studytimeEndTime"))
 public class StudyTime {
 
 
@@ -26,6 +27,10 @@ public class StudyTime {
     @ColumnDefault("current_timestamp on update current_timestamp")
     private Timestamp studytimeEndTime;
 
+    // 마감 후 계획/플래너/캘린더/스터디 공부시간에 반영되었는지 (false 면 아직 반영 대기 중)
+    @Column
+    private Boolean studytimeIsAggregated;
+
     @JsonBackReference
     @ManyToOne
     @JoinColumn(name = "planIndex")
@@ -37,7 +42,9 @@ public class StudyTime {
         this.plan = plan;
     }
 
-    public void updateEndTime(Timestamp endTime) {
-        this.studytimeEndTime = endTime;
+    // 자정 자동 마감 시 날짜별로 나눈 구간 (공부시간 반영은 마감 작업에서 함께 처리)
+    public StudyTime(Timestamp startTime, Timestamp endTime, Plan plan, Boolean isAggregated) {
+        this(startTime, endTime, plan);
+        this.studytimeIsAggregated = isAggregated;
     }
 }
@@ -0,0 +1,43 @@
+package com.mmos.mmos.src.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+
+// 스터디원별 주간 스터디 공부시간 (스터디 평균 공부시간 = 주간 합계 / 공부한 스터디원 수)
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_studyweeklytime_study_user_week", columnNames = {"studyIndex", "userIndex", "studyweeklytimeWeek"}),
+        indexes = @Index(name = "idx_studyweeklytime_week_study", columnList = "studyweeklytimeWeek, studyIndex"))
+public class StudyWeeklyTime {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long studyweeklytimeIndex;
+
+    // 주의 시작일 (월요일)
+    @Column
+    private LocalDate studyweeklytimeWeek;
+
+    @Column
+    @ColumnDefault("0")
+    private Long studyweeklytimeTime = 0L;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "studyIndex")
+    private Study study;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "userIndex")
+    private User user;
+
+    public StudyWeeklyTime(Study study, User user, LocalDate week) {
+        this.study = study;
+        this.user = user;
+        this.studyweeklytimeWeek = week;
+    }
+}
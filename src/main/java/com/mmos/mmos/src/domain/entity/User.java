@@ -76,7 +76,7 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.REMOVE, orphanRemoval = true)
     private List<Streak> streaks = new ArrayList<>();
 
-    // 현재 친구 & 나에게 친구 요청을 한 & 내가 친구 요청을 보낸 유저들 리스트 (양방향)
+    // 현재 친구 & 나에게 친구 요청을 한 & 내가 친구 요청을 보낸 유저들 리스트 (관계마다 한 행이므로 내 인덱스가 더 작은 관계만)
     @JsonManagedReference
     @OneToMany(mappedBy = "user", cascade = CascadeType.REMOVE, orphanRemoval = true)
     private List<Friend> userFriends = new ArrayList<>();
@@ -111,10 +111,6 @@ public class User {
         this.userUserstudies.add(userStudy);
     }
 
-    public void addFriend(Friend friend) {
-        this.userFriends.add(friend);
-    }
-
     public void updatePwd(String newPwd) {
         this.userPassword = newPwd;
     }
@@ -15,6 +15,8 @@ import java.util.List;
 @Getter
 @NoArgsConstructor
 @DynamicInsert
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_userstudy_study_user", columnNames = {"studyIndex", "userIndex"}),
+        indexes = @Index(name = "idx_userstudy_study_status", columnList = "studyIndex, userstudyMemberStatus"))
 public class UserStudy {
 
     @Id
@@ -2,10 +2,20 @@ package com.mmos.mmos.src.repository;
 
 import com.mmos.mmos.src.domain.entity.Calendar;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface CalendarRepository extends JpaRepository<Calendar, Long> {
 
     Optional<Calendar> findCalendarByUser_UserIndexAndCalendarYearAndCalendarMonth(Long userIdx,int year, Integer month);
+
+    @Query("select c.calendarIndex from Calendar c where c.user.userIndex = :userIdx and c.calendarYear = :year and c.calendarMonth = :month")
+    Optional<Long> findCalendarIdx(@Param("userIdx") Long userIdx, @Param("year") Integer year, @Param("month") Integer month);
+
+    @Modifying
+    @Query("update Calendar c set c.calendarMonthlyStudyTime = coalesce(c.calendarMonthlyStudyTime, 0) + :time where c.calendarIndex = :calendarIdx")
+    int addMonthlyStudyTime(@Param("calendarIdx") Long calendarIdx, @Param("time") Long time);
 }
\ No newline at end of file
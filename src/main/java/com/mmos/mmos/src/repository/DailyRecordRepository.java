@@ -0,0 +1,66 @@
+package com.mmos.mmos.src.repository;
+
+import com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordDto;
+import com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordSumDto;
+import com.mmos.mmos.src.domain.entity.DailyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DailyRecordRepository extends JpaRepository<DailyRecord, Long> {
+
+    // 기록이 없으면 만들고, 있으면 가감 (uk_dailyrecord_user_date 기준, MySQL)
+    @Modifying
+    @Query(value = "insert into daily_record (user_index, dailyrecord_date, dailyrecord_study_time, dailyrecord_completed_plan_num, dailyrecord_visible_num) " +
+            "values (:userIdx, :date, :time, :completedPlanNum, 0) " +
+            "on duplicate key update dailyrecord_study_time = dailyrecord_study_time + :time, " +
+            "dailyrecord_completed_plan_num = dailyrecord_completed_plan_num + :completedPlanNum",
+            nativeQuery = true)
+    int upsertRecord(@Param("userIdx") Long userIdx, @Param("date") LocalDate date,
+                     @Param("time") Long time, @Param("completedPlanNum") Long completedPlanNum);
+
+    // 기록이 없을 때만 빈 기록을 만듦 (이미 있으면 아무것도 바꾸지 않음, MySQL)
+    @Modifying
+    @Query(value = "insert into daily_record (user_index, dailyrecord_date, dailyrecord_study_time, dailyrecord_completed_plan_num, dailyrecord_visible_num) " +
+            "values (:userIdx, :date, 0, 0, 0) " +
+            "on duplicate key update dailyrecord_date = dailyrecord_date",
+            nativeQuery = true)
+    int insertRecordIfAbsent(@Param("userIdx") Long userIdx, @Param("date") LocalDate date);
+
+    // 기간 내 표시 수가 최대보다 작은 날만 1 증가 (바뀐 row 수로 모든 날에 반영되었는지 확인)
+    @Modifying
+    @Query("update DailyRecord d set d.dailyrecordVisibleNum = d.dailyrecordVisibleNum + 1 " +
+            "where d.user.userIndex = :userIdx and d.dailyrecordDate between :startDate and :endDate and d.dailyrecordVisibleNum < :maxVisibleNum")
+    int addVisibleNumIfNotFull(@Param("userIdx") Long userIdx, @Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate, @Param("maxVisibleNum") Long maxVisibleNum);
+
+    @Modifying
+    @Query("update DailyRecord d set d.dailyrecordVisibleNum = d.dailyrecordVisibleNum + :visibleNum " +
+            "where d.user.userIndex = :userIdx and d.dailyrecordDate between :startDate and :endDate")
+    int addVisibleNum(@Param("userIdx") Long userIdx, @Param("startDate") LocalDate startDate,
+                      @Param("endDate") LocalDate endDate, @Param("visibleNum") Long visibleNum);
+
+    @Modifying
+    @Query("update DailyRecord d set d.dailyrecordVisibleNum = 0 where d.user.userIndex = :userIdx")
+    int resetVisibleNum(@Param("userIdx") Long userIdx);
+
+    @Query("select d.dailyrecordDate from DailyRecord d where d.user.userIndex = :userIdx and d.dailyrecordDate between :startDate and :endDate")
+    List<LocalDate> findRecordDates(@Param("userIdx") Long userIdx, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordSumDto(coalesce(sum(d.dailyrecordStudyTime), 0), coalesce(sum(d.dailyrecordCompletedPlanNum), 0)) " +
+            "from DailyRecord d where d.user.userIndex = :userIdx and d.dailyrecordDate between :startDate and :endDate")
+    DailyRecordSumDto sumRecords(@Param("userIdx") Long userIdx, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordSumDto(coalesce(sum(d.dailyrecordStudyTime), 0), coalesce(sum(d.dailyrecordCompletedPlanNum), 0)) " +
+            "from DailyRecord d where d.user.userIndex = :userIdx")
+    DailyRecordSumDto sumRecords(@Param("userIdx") Long userIdx);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordDto(d.user.userIndex, d.dailyrecordDate, d.dailyrecordStudyTime, d.dailyrecordCompletedPlanNum) " +
+            "from DailyRecord d where d.user.userIndex in :userIdxs and d.dailyrecordDate = :date")
+    List<DailyRecordDto> findRecords(@Param("userIdxs") Collection<Long> userIdxs, @Param("date") LocalDate date);
+}
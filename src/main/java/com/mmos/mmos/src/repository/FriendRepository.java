@@ -1,8 +1,16 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.friend.FriendEdgeDto;
+import com.mmos.mmos.src.domain.dto.friend.FriendListResponseDto;
 import com.mmos.mmos.src.domain.entity.Friend;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,5 +18,45 @@ public interface FriendRepository extends JpaRepository<Friend, Long> {
 
     Optional<Friend> findFriendByUser_UserIndexAndFriendUserIndex(Long userIdx, Long friendIdx);
 
-    List<Friend> findFriendsByUser_UserIndexAndFriendStatus(Long userIdx, Integer status);
+    // 상태별 친구 목록 (고정 친구 -> 일반 친구 순, 같은 고정 여부는 친구 인덱스 순)
+    // 한 관계가 한 행이므로 내가 user 인 행은 status, friendUserIndex 인 행은 reverseStatus 로 찾고 상대 유저를 join
+    @Query(value = "select new com.mmos.mmos.src.domain.dto.friend.FriendListResponseDto(f.friendIndex, u.userIndex, " +
+            "case when f.user.userIndex = :userIdx then f.friendIsFixed else f.friendIsFixedByFriend end, " +
+            "case when f.user.userIndex = :userIdx then f.friendStatus when f.friendStatus = 2 then 3 when f.friendStatus = 3 then 2 else f.friendStatus end, " +
+            "u.userName, u.userNickname, u.userStudentId, m.majorName) " +
+            "from Friend f join User u on u.userIndex = case when f.user.userIndex = :userIdx then f.friendUserIndex else f.user.userIndex end left join u.major m " +
+            "where (f.user.userIndex = :userIdx and f.friendStatus = :status) or (f.friendUserIndex = :userIdx and f.friendStatus = :reverseStatus) " +
+            "order by case when f.user.userIndex = :userIdx then f.friendIsFixed else f.friendIsFixedByFriend end desc, f.friendIndex",
+            countQuery = "select count(f) from Friend f " +
+                    "where (f.user.userIndex = :userIdx and f.friendStatus = :status) or (f.friendUserIndex = :userIdx and f.friendStatus = :reverseStatus)")
+    Page<FriendListResponseDto> findFriendList(@Param("userIdx") Long userIdx, @Param("status") Integer status, @Param("reverseStatus") Integer reverseStatus, Pageable pageable);
+
+    // findFriendList 와 같은 조건, 같은 순서의 Friend (v1 응답 형식용)
+    @Query(value = "select f from Friend f " +
+            "where (f.user.userIndex = :userIdx and f.friendStatus = :status) or (f.friendUserIndex = :userIdx and f.friendStatus = :reverseStatus) " +
+            "order by case when f.user.userIndex = :userIdx then f.friendIsFixed else f.friendIsFixedByFriend end desc, f.friendIndex",
+            countQuery = "select count(f) from Friend f " +
+                    "where (f.user.userIndex = :userIdx and f.friendStatus = :status) or (f.friendUserIndex = :userIdx and f.friendStatus = :reverseStatus)")
+    Page<Friend> findFriendPage(@Param("userIdx") Long userIdx, @Param("status") Integer status, @Param("reverseStatus") Integer reverseStatus, Pageable pageable);
+
+    // 유저의 모든 친구 관계 (친구 관계 캐시 로딩용)
+    @Query("select new com.mmos.mmos.src.domain.dto.friend.FriendEdgeDto(f.user.userIndex, f.friendUserIndex, f.friendStatus) " +
+            "from Friend f where f.user.userIndex = :userIdx or f.friendUserIndex = :userIdx")
+    List<FriendEdgeDto> findFriendEdges(@Param("userIdx") Long userIdx);
+
+    @Query("select count(f) from Friend f where f.friendStatus = 1")
+    long countAcceptedFriends();
+
+    // 유저들이 user(인덱스가 작은 쪽)인 친구 관계 (친구 추천 계산용, 관계마다 한 번씩만 나옴)
+    @Query("select new com.mmos.mmos.src.domain.dto.friend.FriendEdgeDto(f.user.userIndex, f.friendUserIndex, f.friendStatus) " +
+            "from Friend f where f.user.userIndex in :userIdxs and f.friendStatus = 1")
+    List<FriendEdgeDto> findAcceptedFriendEdges(@Param("userIdxs") Collection<Long> userIdxs);
+
+    // 두 행으로 저장하던 관계 중 유저 인덱스가 큰 쪽의 행 (한 행 저장으로 옮기기 위함)
+    @Query("select f from Friend f join fetch f.user where f.user.userIndex > f.friendUserIndex and f.friendIndex > :lastIdx order by f.friendIndex")
+    List<Friend> findReversedFriends(@Param("lastIdx") Long lastIdx, Pageable pageable);
+
+    @Modifying
+    @Query("update Friend f set f.friendIsFixedByFriend = false where f.friendIsFixedByFriend is null")
+    int initIsFixedByFriend();
 }
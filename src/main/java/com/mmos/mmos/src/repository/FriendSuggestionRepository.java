@@ -0,0 +1,19 @@
+package com.mmos.mmos.src.repository;
+
+import com.mmos.mmos.src.domain.entity.FriendSuggestion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface FriendSuggestionRepository extends JpaRepository<FriendSuggestion, Long> {
+
+    Optional<FriendSuggestion> findFriendSuggestionByUser_UserIndex(Long userIdx);
+
+    // 다시 계산한 유저 범위의 이전 목록 삭제 (그 사이 탈퇴한 유저 것도 함께 지워짐)
+    @Modifying
+    @Query("delete from FriendSuggestion s where s.user.userIndex between :startIdx and :endIdx")
+    int deleteByUserIdxRange(@Param("startIdx") Long startIdx, @Param("endIdx") Long endIdx);
+}
@@ -1,10 +1,14 @@
 package com.mmos.mmos.src.repository;
 
-import com.mmos.mmos.src.domain.entity.Calendar;
+import com.mmos.mmos.src.domain.dto.plan.PlanResponseDto;
 import com.mmos.mmos.src.domain.entity.Plan;
 import com.mmos.mmos.src.domain.entity.Planner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,9 +17,21 @@ public interface PlanRepository extends JpaRepository<Plan, Long> {
 
     Optional<List<Plan>> findPlansByPlanner(Planner planner);
 
+    // 기간 내 캘린더에 표시되는 계획 (날짜 포함)
+    @Query("select new com.mmos.mmos.src.domain.dto.plan.PlanResponseDto(p.planIndex, p.planName, p.planIsComplete, p.planIsStudy, p.planIsVisible, p.planStudyTime, pl.plannerDate) " +
+            "from Plan p join p.planner pl join pl.calendar c " +
+            "where c.user.userIndex = :userIdx and pl.plannerDate between :startDate and :endDate and p.planIsVisible = true " +
+            "order by pl.plannerDate, p.planIndex")
+    List<PlanResponseDto> findVisiblePlans(@Param("userIdx") Long userIdx, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-    Optional<List<Plan>> findPlansByPlanIsVisibleIsTrueAndPlanner_Calendar(Calendar calendar);
+    @Query("select pl.plannerDate from Plan p join p.planner pl join pl.calendar c where c.user.userIndex = :userIdx and p.planIsVisible = true")
+    List<LocalDate> findVisiblePlanDates(@Param("userIdx") Long userIdx);
 
-    Long countByPlannerAndPlanIsVisibleTrue(Planner planner);
+    @Query("select c.user.userIndex from Plan p join p.planner pl join pl.calendar c where p.planIndex = :planIdx")
+    Optional<Long> findUserIdxByPlanIdx(@Param("planIdx") Long planIdx);
+
+    @Modifying
+    @Query("update Plan p set p.planStudyTime = coalesce(p.planStudyTime, 0) + :time where p.planIndex = :planIdx")
+    int addStudyTime(@Param("planIdx") Long planIdx, @Param("time") Long time);
 
 }
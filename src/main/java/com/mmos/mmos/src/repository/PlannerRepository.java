@@ -1,12 +1,29 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.planner.PlannerKeyDto;
 import com.mmos.mmos.src.domain.entity.Planner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PlannerRepository extends JpaRepository<Planner, Long> {
 
     Optional<Planner> findPlannerByCalendar_CalendarIndexAndPlannerDate(Long idx, LocalDate date);
+
+    @Query("select pl.plannerIndex from Planner pl where pl.calendar.calendarIndex = :calendarIdx and pl.plannerDate = :date")
+    Optional<Long> findPlannerIdx(@Param("calendarIdx") Long calendarIdx, @Param("date") LocalDate date);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.planner.PlannerKeyDto(pl.plannerIndex, c.calendarIndex, c.user.userIndex, pl.plannerDate) " +
+            "from Planner pl join pl.calendar c where c.user.userIndex in :userIdxs and pl.plannerDate in :dates")
+    List<PlannerKeyDto> findPlannerKeys(@Param("userIdxs") Collection<Long> userIdxs, @Param("dates") Collection<LocalDate> dates);
+
+    @Modifying
+    @Query("update Planner p set p.plannerDailyStudyTime = coalesce(p.plannerDailyStudyTime, 0) + :time where p.plannerIndex = :plannerIdx")
+    int addDailyStudyTime(@Param("plannerIdx") Long plannerIdx, @Param("time") Long time);
 }
@@ -1,16 +1,57 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.post.PostListResponseDto;
+import com.mmos.mmos.src.domain.dto.post.PostTextDto;
 import com.mmos.mmos.src.domain.entity.Post;
-import com.mmos.mmos.src.domain.entity.Study;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
-    Optional<List<Post>> findPostsByPostIsNotice(Boolean postIsNotice);
 
-    Optional<List<Post>> findPostsByPostIsNoticeAndStudy(Boolean isNotice, Study study);
+    @Query(value = "select new com.mmos.mmos.src.domain.dto.post.PostListResponseDto(p.postIndex, p.postTitle, p.postImage, p.postIsNotice, p.postWriterName, p.postWriterIndex, p.postCreatedAt, p.postUpdatedAt) " +
+            "from Post p where p.postIsNotice = :isNotice",
+            countQuery = "select count(p) from Post p where p.postIsNotice = :isNotice")
+    Page<PostListResponseDto> findPostList(@Param("isNotice") Boolean isNotice, Pageable pageable);
 
-    Optional<List<Post>> findPostsByPostTitleContainingOrPostContentsContaining(String title, String contents);
+    @Query(value = "select new com.mmos.mmos.src.domain.dto.post.PostListResponseDto(p.postIndex, p.postTitle, p.postImage, p.postIsNotice, p.postWriterName, p.postWriterIndex, p.postCreatedAt, p.postUpdatedAt) " +
+            "from Post p where p.postIsNotice = true and p.study.studyIndex = :studyIdx",
+            countQuery = "select count(p) from Post p where p.postIsNotice = true and p.study.studyIndex = :studyIdx")
+    Page<PostListResponseDto> findNoticeList(@Param("studyIdx") Long studyIdx, Pageable pageable);
+
+    // 커서(마지막으로 받은 postIndex) 다음부터 최신순
+    @Query("select new com.mmos.mmos.src.domain.dto.post.PostListResponseDto(p.postIndex, p.postTitle, p.postImage, p.postIsNotice, p.postWriterName, p.postWriterIndex, p.postCreatedAt, p.postUpdatedAt) " +
+            "from Post p where p.postIsNotice = :isNotice and p.postIndex < :cursor order by p.postIndex desc")
+    List<PostListResponseDto> findPostScroll(@Param("isNotice") Boolean isNotice, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.post.PostListResponseDto(p.postIndex, p.postTitle, p.postImage, p.postIsNotice, p.postWriterName, p.postWriterIndex, p.postCreatedAt, p.postUpdatedAt) " +
+            "from Post p where p.study.studyIndex = :studyIdx and p.postIsNotice = true and p.postIndex < :cursor order by p.postIndex desc")
+    List<PostListResponseDto> findNoticeScroll(@Param("studyIdx") Long studyIdx, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.post.PostListResponseDto(p.postIndex, p.postTitle, p.postImage, p.postIsNotice, p.postWriterName, p.postWriterIndex, p.postCreatedAt, p.postUpdatedAt) " +
+            "from Post p where p.postIndex in :postIdxs")
+    List<PostListResponseDto> findPostList(@Param("postIdxs") Collection<Long> postIdxs);
+
+    // 검색 인덱스 생성용
+    @Query("select new com.mmos.mmos.src.domain.dto.post.PostTextDto(p.postIndex, p.postTitle, p.postContents) " +
+            "from Post p where p.postIsNotice = false and p.postIndex > :lastIdx order by p.postIndex")
+    List<PostTextDto> findPromotionTexts(@Param("lastIdx") Long lastIdx, Pageable pageable);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.post.PostTextDto(p.postIndex, p.postTitle, p.postContents) " +
+            "from Post p where p.postIsNotice = false and (p.postIndex > :lastIdx or p.postUpdatedAt >= :updatedAt)")
+    List<PostTextDto> findPromotionTextsChangedAfter(@Param("lastIdx") Long lastIdx, @Param("updatedAt") Timestamp updatedAt);
+
+    @Query("select p.postIndex from Post p where p.postIsNotice = false")
+    List<Long> findPromotionIdxs();
+
+    @Query(value = "select new com.mmos.mmos.src.domain.dto.post.PostListResponseDto(p.postIndex, p.postTitle, p.postImage, p.postIsNotice, p.postWriterName, p.postWriterIndex, p.postCreatedAt, p.postUpdatedAt) " +
+            "from Post p where p.postIsNotice = false and (p.postTitle like concat('%', :searchStr, '%') or p.postContents like concat('%', :searchStr, '%'))",
+            countQuery = "select count(p) from Post p where p.postIsNotice = false and (p.postTitle like concat('%', :searchStr, '%') or p.postContents like concat('%', :searchStr, '%'))")
+    Page<PostListResponseDto> searchPromotionList(@Param("searchStr") String searchStr, Pageable pageable);
 }
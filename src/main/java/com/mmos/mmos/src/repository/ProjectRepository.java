@@ -1,13 +1,18 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.project.ProjectResponseDto;
 import com.mmos.mmos.src.domain.entity.Project;
 import com.mmos.mmos.src.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project,Long> {
     List<Project> findAllByUser(User user);
 
-    Long countByUserAndProjectIsVisibleTrue(User user);
+    @Query("select new com.mmos.mmos.src.domain.dto.project.ProjectResponseDto(p.projectIndex, p.projectStartTime, p.projectEndTime, p.projectName, p.projectIsComplete, p.projectIsVisible) " +
+            "from Project p where p.user.userIndex = :userIdx")
+    List<ProjectResponseDto> findProjects(@Param("userIdx") Long userIdx);
 }
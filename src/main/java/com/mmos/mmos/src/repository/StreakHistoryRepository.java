@@ -0,0 +1,24 @@
+package com.mmos.mmos.src.repository;
+
+import com.mmos.mmos.src.domain.entity.StreakHistory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StreakHistoryRepository extends JpaRepository<StreakHistory, Long> {
+
+    @Query("select h.streakhistoryLastDate from StreakHistory h where h.userIndex = :userIdx")
+    Optional<LocalDate> findLastDate(@Param("userIdx") Long userIdx);
+
+    // 같은 유저를 동시에 계산하지 않도록 잠그고 조회 (트랜잭션 안에서 최신 값을 읽음)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from StreakHistory h where h.userIndex in :userIdxs")
+    List<StreakHistory> findAllForUpdate(@Param("userIdxs") Collection<Long> userIdxs);
+}
@@ -1,13 +1,18 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.streak.StreakDto;
 import com.mmos.mmos.src.domain.entity.Streak;
-import com.mmos.mmos.src.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface StreakRepository extends JpaRepository<Streak, Long> {
 
-    Optional<List<Streak>> findTop60ByUserOrderByStreakIndexDesc(User user);
+    // 스트릭 기록(StreakHistory)으로 옮기기 전 하루 한 줄씩 저장된 스트릭
+    @Query("select new com.mmos.mmos.src.domain.dto.streak.StreakDto(s.user.userIndex, s.streakDate, s.streakLevel) " +
+            "from Streak s where s.user.userIndex in :userIdxs")
+    List<StreakDto> findStreaks(@Param("userIdxs") Collection<Long> userIdxs);
 }
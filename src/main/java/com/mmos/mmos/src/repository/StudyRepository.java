@@ -1,14 +1,63 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.study.StudyRankDto;
+import com.mmos.mmos.src.domain.dto.study.StudyResponseDto;
 import com.mmos.mmos.src.domain.entity.Study;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface StudyRepository extends JpaRepository<Study, Long> {
 
-    Optional<List<Study>> findTop3ByStudyIsCompleteAndAndStudyIsVisibleOrderByStudyMemberNumDesc(boolean isComplete, boolean isVisible);
+    @Query("select new com.mmos.mmos.src.domain.dto.study.StudyRankDto(s.studyIndex, s.studyMemberLimit, s.studyName, s.studyIsVisible, s.studyIsComplete, " +
+            "coalesce(s.studyMemberNum, 0)) " +
+            "from Study s where s.studyIndex > :lastIdx order by s.studyIndex")
+    List<StudyRankDto> findRankList(@Param("lastIdx") Long lastIdx, Pageable pageable);
 
-    Optional<List<Study>> findTop3ByStudyIsCompleteAndStudyIsVisibleOrderByStudyAverageStudyTimeDesc(boolean isComplete, boolean isVisible);
+    @Query("select new com.mmos.mmos.src.domain.dto.study.StudyRankDto(s.studyIndex, s.studyMemberLimit, s.studyName, s.studyIsVisible, s.studyIsComplete, " +
+            "coalesce(s.studyMemberNum, 0)) " +
+            "from Study s where s.studyIndex in :studyIdxs")
+    List<StudyRankDto> findRankList(@Param("studyIdxs") Collection<Long> studyIdxs);
+
+    @Query(value = "select new com.mmos.mmos.src.domain.dto.study.StudyResponseDto(s.studyIndex, s.studyMemberLimit, s.studyMemberNum, s.studyName, s.studyIsVisible, s.studyIsComplete) from Study s",
+            countQuery = "select count(s) from Study s")
+    Page<StudyResponseDto> findStudyList(Pageable pageable);
+
+    // 스터디 둘러보기 (조건이 false 면 해당 필터 미적용, 정렬은 pageable)
+    @Query(value = "select new com.mmos.mmos.src.domain.dto.study.StudyResponseDto(s.studyIndex, s.studyMemberLimit, s.studyMemberNum, s.studyName, s.studyIsVisible, s.studyIsComplete) " +
+            "from Study s where (:onlyVisible = false or s.studyIsVisible = true) " +
+            "and (:onlyInProgress = false or s.studyIsComplete = false) " +
+            "and (:onlyHasSeat = false or s.studyMemberNum < s.studyMemberLimit)",
+            countQuery = "select count(s) from Study s where (:onlyVisible = false or s.studyIsVisible = true) " +
+                    "and (:onlyInProgress = false or s.studyIsComplete = false) " +
+                    "and (:onlyHasSeat = false or s.studyMemberNum < s.studyMemberLimit)")
+    Page<StudyResponseDto> findStudyDirectory(@Param("onlyVisible") boolean onlyVisible, @Param("onlyInProgress") boolean onlyInProgress,
+                                              @Param("onlyHasSeat") boolean onlyHasSeat, Pageable pageable);
+
+    @Query("select s.studyIndex from Study s where s.studyIndex > :lastIdx order by s.studyIndex")
+    List<Long> findStudyIdxs(@Param("lastIdx") Long lastIdx, Pageable pageable);
+
+    // 스터디원 수를 UserStudy 로부터 다시 계산 (운영진, 부운영진, 멤버)
+    @Modifying
+    @Query("update Study s set s.studyMemberNum = " +
+            "(select count(us) from UserStudy us where us.study = s and us.userstudyMemberStatus <= 3) " +
+            "where s.studyIndex between :startIdx and :endIdx")
+    int recountMemberNum(@Param("startIdx") Long startIdx, @Param("endIdx") Long endIdx);
+
+    // 자리가 남아 있을 때만 스터디원 수 증가 (0 이면 가득 참)
+    @Modifying
+    @Query("update Study s set s.studyMemberNum = s.studyMemberNum + 1 " +
+            "where s.studyIndex = :studyIdx and s.studyMemberNum < s.studyMemberLimit")
+    int admitMember(@Param("studyIdx") Long studyIdx);
+
+    @Modifying
+    @Query("update Study s set s.studyMemberNum = s.studyMemberNum - 1 " +
+            "where s.studyIndex = :studyIdx and s.studyMemberNum > 0")
+    int releaseMember(@Param("studyIdx") Long studyIdx);
 }
@@ -1,7 +1,52 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.studytime.ActiveStudyTimeDto;
+import com.mmos.mmos.src.domain.dto.studytime.StudyTimeCloseDto;
 import com.mmos.mmos.src.domain.entity.StudyTime;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 
 public interface StudyTimeRepository extends JpaRepository<StudyTime, Long> {
+
+    // 마감되지 않은 공부시간 (서버 시작 시 진행 중 세션 복구용)
+    @Query("select new com.mmos.mmos.src.domain.dto.studytime.ActiveStudyTimeDto(st.studytimeIndex, p.planIndex, pl.plannerIndex, c.calendarIndex, s.studyIndex, c.user.userIndex, pl.plannerDate, st.studytimeStartTime) " +
+            "from StudyTime st join st.plan p join p.planner pl join pl.calendar c left join p.userStudy us left join us.study s " +
+            "where st.studytimeEndTime is null")
+    List<ActiveStudyTimeDto> findActiveStudyTimes();
+
+    // before 이전에 시작해서 마감되지 않은 공부시간 (studytimeIndex 순으로 lastIdx 이후부터)
+    @Query("select new com.mmos.mmos.src.domain.dto.studytime.ActiveStudyTimeDto(st.studytimeIndex, p.planIndex, pl.plannerIndex, c.calendarIndex, s.studyIndex, c.user.userIndex, pl.plannerDate, st.studytimeStartTime) " +
+            "from StudyTime st join st.plan p join p.planner pl join pl.calendar c left join p.userStudy us left join us.study s " +
+            "where st.studytimeEndTime is null and st.studytimeStartTime < :before and st.studytimeIndex > :lastIdx " +
+            "order by st.studytimeIndex")
+    List<ActiveStudyTimeDto> findActiveStudyTimesBefore(@Param("before") Timestamp before, @Param("lastIdx") Long lastIdx, Pageable pageable);
+
+    // 이미 마감된 경우 0 반환 (종료 요청과 자정 마감이 같은 공부시간을 두 번 반영하지 않도록 둘 다 이것으로 마감)
+    // isAggregated: 마감하면서 바로 반영하면 true, 커밋 후 모아서 반영하면 false
+    @Modifying
+    @Query("update StudyTime st set st.studytimeEndTime = :endTime, st.studytimeIsAggregated = :isAggregated " +
+            "where st.studytimeIndex = :studytimeIdx and st.studytimeEndTime is null")
+    int closeStudyTime(@Param("studytimeIdx") Long studytimeIdx, @Param("endTime") Timestamp endTime, @Param("isAggregated") Boolean isAggregated);
+
+    // 마감되었지만 아직 공부시간에 반영되지 않은 공부시간 (비정상 종료 시 복구용)
+    @Query("select new com.mmos.mmos.src.domain.dto.studytime.StudyTimeCloseDto(st.studytimeIndex, p.planIndex, pl.plannerIndex, pl.calendar.calendarIndex, s.studyIndex, pl.calendar.user.userIndex, pl.plannerDate, st.studytimeStartTime, st.studytimeEndTime) " +
+            "from StudyTime st join st.plan p join p.planner pl left join p.userStudy us left join us.study s " +
+            "where st.studytimeEndTime is not null and st.studytimeIsAggregated = false")
+    List<StudyTimeCloseDto> findNotAggregatedStudyTimes();
+
+    @Modifying
+    @Query("update StudyTime st set st.studytimeIsAggregated = true where st.studytimeIndex in :studytimeIdxs")
+    int updateIsAggregated(@Param("studytimeIdxs") Collection<Long> studytimeIdxs);
+
+    // 계획에 반영된 공부시간 구간 (시작 시각 순)
+    @Query("select st from StudyTime st where st.plan.planIndex = :planIdx and st.studytimeEndTime is not null " +
+            "and st.studytimeIsAggregated = true order by st.studytimeStartTime")
+    List<StudyTime> findAggregatedStudyTimes(@Param("planIdx") Long planIdx);
 }
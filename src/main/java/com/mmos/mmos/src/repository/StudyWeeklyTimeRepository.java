@@ -0,0 +1,49 @@
+package com.mmos.mmos.src.repository;
+
+import com.mmos.mmos.src.domain.dto.study.StudyWeeklyTimeDto;
+import com.mmos.mmos.src.domain.entity.StudyWeeklyTime;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface StudyWeeklyTimeRepository extends JpaRepository<StudyWeeklyTime, Long> {
+
+    // 공부시간 가감 (0 미만으로 내려가지 않도록)
+    @Modifying
+    @Query("update StudyWeeklyTime t set t.studyweeklytimeTime = " +
+            "case when t.studyweeklytimeTime + :time < 0 then 0 else t.studyweeklytimeTime + :time end " +
+            "where t.study.studyIndex = :studyIdx and t.user.userIndex = :userIdx and t.studyweeklytimeWeek = :week")
+    int addTime(@Param("studyIdx") Long studyIdx, @Param("userIdx") Long userIdx,
+                @Param("week") LocalDate week, @Param("time") Long time);
+
+    // 기록이 없으면 만들고, 있으면 가감 (uk_studyweeklytime_study_user_week 기준, 0 미만으로 내려가지 않도록, MySQL)
+    @Modifying
+    @Query(value = "insert into study_weekly_time (study_index, user_index, studyweeklytime_week, studyweeklytime_time) " +
+            "values (:studyIdx, :userIdx, :week, greatest(:time, 0)) " +
+            "on duplicate key update studyweeklytime_time = greatest(studyweeklytime_time + :time, 0)",
+            nativeQuery = true)
+    int upsertTime(@Param("studyIdx") Long studyIdx, @Param("userIdx") Long userIdx,
+                   @Param("week") LocalDate week, @Param("time") Long time);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.study.StudyWeeklyTimeDto(t.study.studyIndex, sum(t.studyweeklytimeTime), count(t)) " +
+            "from StudyWeeklyTime t where t.studyweeklytimeWeek = :week and t.study.studyIndex in :studyIdxs and t.studyweeklytimeTime > 0 " +
+            "group by t.study.studyIndex")
+    List<StudyWeeklyTimeDto> findWeeklyTimes(@Param("week") LocalDate week, @Param("studyIdxs") Collection<Long> studyIdxs);
+
+    @Query("select count(t) from StudyWeeklyTime t where t.studyweeklytimeWeek < :week")
+    long countExpired(@Param("week") LocalDate week);
+
+    @Query("select t.studyweeklytimeIndex from StudyWeeklyTime t " +
+            "where t.studyweeklytimeWeek < :week and t.studyweeklytimeIndex > :lastIdx order by t.studyweeklytimeIndex")
+    List<Long> findExpiredIdxs(@Param("week") LocalDate week, @Param("lastIdx") Long lastIdx, Pageable pageable);
+
+    @Modifying
+    @Query("delete from StudyWeeklyTime t where t.studyweeklytimeIndex in :idxs")
+    int deleteByIdxs(@Param("idxs") Collection<Long> idxs);
+}
@@ -1,13 +1,45 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.friend.FriendSuggestionResponseDto;
+import com.mmos.mmos.src.domain.dto.user.UserMajorIdxDto;
 import com.mmos.mmos.src.domain.entity.University;
 import com.mmos.mmos.src.domain.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findUserByUserEmail(String email);
 
     Optional<User> findUserByUserNickname(String nickName);
+
+    @Query("select u.userIndex from User u where u.userIndex > :lastIdx order by u.userIndex")
+    List<Long> findUserIdxs(@Param("lastIdx") Long lastIdx, Pageable pageable);
+
+    @Query("select new com.mmos.mmos.src.domain.dto.user.UserMajorIdxDto(u.userIndex, m.majorIndex) " +
+            "from User u left join u.major m where u.userIndex > :lastIdx order by u.userIndex")
+    List<UserMajorIdxDto> findUserMajorIdxs(@Param("lastIdx") Long lastIdx, Pageable pageable);
+
+    // 추천 친구 유저 정보를 한 번에 조회 (순서는 보장하지 않음)
+    @Query("select new com.mmos.mmos.src.domain.dto.friend.FriendSuggestionResponseDto(u.userIndex, u.userName, u.userNickname, u.userStudentId, m.majorName) " +
+            "from User u left join u.major m where u.userIndex in :userIdxs")
+    List<FriendSuggestionResponseDto> findFriendSuggestionUsers(@Param("userIdxs") Collection<Long> userIdxs);
+
+    // 최고 스트릭을 먼저 계산 (MySQL 은 SET 을 왼쪽부터 적용)
+    @Modifying
+    @Query("update User u set " +
+            "u.userTopStreak = case when u.userCurrentStreak + 1 > u.userTopStreak then u.userCurrentStreak + 1 else u.userTopStreak end, " +
+            "u.userCurrentStreak = u.userCurrentStreak + 1 " +
+            "where u.userIndex in :userIdxs")
+    int plusCurrentStreak(@Param("userIdxs") Collection<Long> userIdxs);
+
+    @Modifying
+    @Query("update User u set u.userCurrentStreak = 0 where u.userIndex in :userIdxs")
+    int resetCurrentStreak(@Param("userIdxs") Collection<Long> userIdxs);
 }
@@ -1,8 +1,16 @@
 package com.mmos.mmos.src.repository;
 
+import com.mmos.mmos.src.domain.dto.user.UserResponseDto;
+import com.mmos.mmos.src.domain.dto.userstudy.StudyMemberResponseDto;
+import com.mmos.mmos.src.domain.dto.userstudy.UserStudyIdxDto;
 import com.mmos.mmos.src.domain.entity.UserStudy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +20,29 @@ public interface UserStudyRepository extends JpaRepository<UserStudy, Long> {
 
     Optional<List<UserStudy>> findUserStudiesByStudy_StudyIndexAndUserstudyMemberStatus(Long idx, Integer status);
 
+    boolean existsByStudy_StudyIndexAndUser_UserIndexAndUserstudyMemberStatusLessThanEqual(Long studyIdx, Long userIdx, Integer status);
+
+    // 상태별 스터디 유저 목록 (운영진 -> 멤버 순, 같은 상태는 유저 인덱스 순)
+    @Query(value = "select new com.mmos.mmos.src.domain.dto.userstudy.StudyMemberResponseDto(us.userstudyIndex, u.userIndex, u.userName, u.userNickname, u.userStudentId, m.majorName, us.userstudyMemberStatus) " +
+            "from UserStudy us join us.user u left join u.major m " +
+            "where us.study.studyIndex = :studyIdx and us.userstudyMemberStatus in :statuses " +
+            "order by us.userstudyMemberStatus, u.userIndex",
+            countQuery = "select count(us) from UserStudy us where us.study.studyIndex = :studyIdx and us.userstudyMemberStatus in :statuses")
+    Page<StudyMemberResponseDto> findStudyMembers(@Param("studyIdx") Long studyIdx, @Param("statuses") Collection<Integer> statuses, Pageable pageable);
+
+    // v1 응답 형식 (UserResponseDto) 의 상태별 스터디 유저 목록
+    @Query(value = "select new com.mmos.mmos.src.domain.dto.user.UserResponseDto(u.userIndex, u.userId, u.userName, u.userNickname, u.userEmail, u.userTotalStudyTime, u.userTotalCompletedScheduleNum, u.userStudentId) " +
+            "from UserStudy us join us.user u " +
+            "where us.study.studyIndex = :studyIdx and us.userstudyMemberStatus in :statuses " +
+            "order by us.userstudyMemberStatus, u.userIndex",
+            countQuery = "select count(us) from UserStudy us where us.study.studyIndex = :studyIdx and us.userstudyMemberStatus in :statuses")
+    Page<UserResponseDto> findStudyUsers(@Param("studyIdx") Long studyIdx, @Param("statuses") Collection<Integer> statuses, Pageable pageable);
+
+    @Query("select count(us) from UserStudy us where us.userstudyMemberStatus <= 3")
+    long countMembers();
+
+    // 유저들이 멤버(운영진, 부운영진, 멤버)로 속한 스터디
+    @Query("select new com.mmos.mmos.src.domain.dto.userstudy.UserStudyIdxDto(us.user.userIndex, us.study.studyIndex) " +
+            "from UserStudy us where us.user.userIndex in :userIdxs and us.userstudyMemberStatus <= 3")
+    List<UserStudyIdxDto> findMemberStudyIdxs(@Param("userIdxs") Collection<Long> userIdxs);
 }
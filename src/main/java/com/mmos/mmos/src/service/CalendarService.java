@@ -3,9 +3,8 @@ package com.mmos.mmos.src.service;
 import com.mmos.mmos.src.domain.dto.calendar.CalendarGetRequestDto;
 import com.mmos.mmos.src.domain.dto.calendar.CalendarResponseDto;
 import com.mmos.mmos.src.domain.dto.plan.PlanResponseDto;
+import com.mmos.mmos.src.domain.dto.project.ProjectResponseDto;
 import com.mmos.mmos.src.domain.entity.Calendar;
-import com.mmos.mmos.src.domain.entity.Plan;
-import com.mmos.mmos.src.domain.entity.Project;
 import com.mmos.mmos.src.domain.entity.User;
 import com.mmos.mmos.src.repository.CalendarRepository;
 import com.mmos.mmos.src.repository.PlanRepository;
@@ -15,7 +14,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.mmos.mmos.config.HttpResponseStatus.*;
@@ -27,6 +25,9 @@ public class CalendarService {
     private final CalendarRepository calendarRepository;
     private final UserRepository userRepository;
     private final PlanRepository planRepository;
+    private final ProjectIntervalCache projectIntervalCache;
+    private final PlannerResolver plannerResolver;
+    private final DailyRecordService dailyRecordService;
 
     public User findUserByIdx(Long userIdx) {
         return userRepository.findById(userIdx)
@@ -38,11 +39,6 @@ public class CalendarService {
                 .orElse( null);
     }
 
-    public List<Plan> findPlansIsVisible(Calendar calendar){
-        return planRepository.findPlansByPlanIsVisibleIsTrueAndPlanner_Calendar(calendar)
-                .orElse(null);
-    }
-
     // 캘린더 생성
     @Transactional
     public CalendarResponseDto saveCalendar(Integer year, Integer month, Long userIdx) {
@@ -56,56 +52,37 @@ public class CalendarService {
         if (!user.getUserCalendars().isEmpty() && findCalendarByMonthAndYear(userIdx,year,month) != null)
             return new CalendarResponseDto(POST_CALENDAR_INVALID_REQUEST);
 
-        System.out.println("year = " + year + "month = " + month + "will be added");
-
         Calendar calendar = new Calendar(year, month, user);
         // User, Calendar 양방향 매핑
         user.addCalendars(calendar);
 
-        System.out.println("calendar = " + calendar);
-        System.out.println("user = " + user);
-
         calendarRepository.save(calendar);
 
         return new CalendarResponseDto(calendar, SUCCESS, null, null);
     }
 
+    // 캘린더 조회 (엔티티를 불러오지 않고 필요한 값만 조회)
     @Transactional
     public CalendarResponseDto getCalendar(Long userIdx, CalendarGetRequestDto calendarGetRequestDto){
-        // user, calendar, List<Project> 객체 가져오기
-        User user = findUserByIdx(userIdx);
+        Integer year = calendarGetRequestDto.getYear();
+        Integer month = calendarGetRequestDto.getMonth();
 
+        // 캘린더 id 조회 (없으면 생성)
+        Long calendarIdx = plannerResolver.getCalendarIdx(userIdx, year, month);
         // user가 존재하지 않을 때
-        if (user == null) {
+        if(calendarIdx == null)
             return new CalendarResponseDto(INVALID_USER);
-        }
 
-        Calendar calendar = findCalendarByMonthAndYear(userIdx,calendarGetRequestDto.getYear(), calendarGetRequestDto.getMonth());
-        if(calendar == null){
-            saveCalendar(calendarGetRequestDto.getYear(), calendarGetRequestDto.getMonth(),userIdx);
-            calendar = findCalendarByMonthAndYear(userIdx,calendarGetRequestDto.getYear(), calendarGetRequestDto.getMonth());
-        }
-        List<Project> userProjectList = user.getUserProjects();
-
-        // 해당 달을 포함하는 Project 찾기
-        LocalDate startDate;
-        LocalDate endDate;
-        LocalDate calendarDate = LocalDate.of(calendarGetRequestDto.getYear(), calendarGetRequestDto.getMonth(),1);
-        List<Project> calendarProjectList = new ArrayList<>();
-        System.out.println("userProjectList = " + userProjectList);
-        for (Project project : userProjectList){
-            startDate = LocalDate.of(project.getProjectStartTime().getYear(),project.getProjectStartTime().getMonthValue(),1);
-            endDate = LocalDate.of(project.getProjectEndTime().getYear(),project.getProjectEndTime().getMonthValue(),20);
-            if((startDate.isBefore(calendarDate)||startDate.isEqual(calendarDate) )&&( endDate.isAfter(calendarDate)||endDate.isEqual((calendarDate))))
-                calendarProjectList.add(project);
-        }
+        // 해당 달과 기간이 겹치는 Project
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+        List<ProjectResponseDto> projectList = projectIntervalCache.findProjects(userIdx, startDate, endDate);
 
-        // 해당 달에서 planIsVisible == true인 plan들을 리스트로 가져오기
-        List<Plan> planList = findPlansIsVisible(calendar);
-        List<PlanResponseDto> planResponseDtoList= new ArrayList<>();
-        for(Plan plan : planList){
-            planResponseDtoList.add(new PlanResponseDto(plan, plan.getPlanner().getPlannerDate()));
-        }
-         return new CalendarResponseDto(calendar, SUCCESS, calendarProjectList, planResponseDtoList);
+        // 해당 달에서 planIsVisible == true인 plan (날짜 포함)
+        List<PlanResponseDto> planList = planRepository.findVisiblePlans(userIdx, startDate, endDate);
+
+        // 월별 공부시간, 완료한 계획 수는 일별 기록에서 집계
+        return new CalendarResponseDto(calendarIdx, year, month, dailyRecordService.getMonthlyRecord(userIdx, year, month),
+                SUCCESS, projectList, planList);
     }
 }
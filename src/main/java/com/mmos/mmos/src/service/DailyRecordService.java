@@ -0,0 +1,140 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordSumDto;
+import com.mmos.mmos.src.domain.dto.project.ProjectResponseDto;
+import com.mmos.mmos.src.repository.DailyRecordRepository;
+import com.mmos.mmos.src.repository.PlanRepository;
+import com.mmos.mmos.src.repository.ProjectRepository;
+import com.mmos.mmos.src.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+@Slf4j
+@Service
+public class DailyRecordService {
+
+    private static final int CHUNK_SIZE = 1000;
+    // 하루에 캘린더에 표시할 수 있는 계획 + 프로젝트 수
+    public static final long MAX_VISIBLE_NUM = 5;
+
+    private final DailyRecordRepository dailyRecordRepository;
+    private final UserRepository userRepository;
+    private final PlanRepository planRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildVisibleNum;
+    // 한 번에 표시 수를 늘릴 수 있는 최대 기간 (날짜마다 기록을 만들기 때문에 제한)
+    private final long maxVisibleDays;
+
+    public DailyRecordService(DailyRecordRepository dailyRecordRepository, UserRepository userRepository,
+                              PlanRepository planRepository, ProjectRepository projectRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${mmos.visible-num.rebuild:false}") boolean rebuildVisibleNum,
+                              @Value("${mmos.visible-num.max-days:366}") long maxVisibleDays) {
+        this.dailyRecordRepository = dailyRecordRepository;
+        this.userRepository = userRepository;
+        this.planRepository = planRepository;
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildVisibleNum = rebuildVisibleNum;
+        this.maxVisibleDays = maxVisibleDays;
+    }
+
+    // 해당 날짜의 공부시간, 완료한 계획 수 가감 (현재 트랜잭션에서 한 문장으로 반영)
+    public void addRecord(Long userIdx, LocalDate date, Long time, Long completedPlanNum) {
+        dailyRecordRepository.upsertRecord(userIdx, date, time, completedPlanNum);
+    }
+
+    public boolean isVisibleRangeTooLong(LocalDate startDate, LocalDate endDate) {
+        return ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxVisibleDays;
+    }
+
+    // 기간 내 모든 날의 표시 수가 최대보다 작을 때만 1씩 늘림 (현재 트랜잭션에서 확인과 반영을 한 문장으로)
+    // 일부 날짜만 늘어난 경우 현재 트랜잭션을 롤백하도록 표시하고 false 반환
+    public boolean addVisibleNumIfNotFull(Long userIdx, LocalDate startDate, LocalDate endDate) {
+        createRecords(userIdx, startDate, endDate);
+        int updated = dailyRecordRepository.addVisibleNumIfNotFull(userIdx, startDate, endDate, MAX_VISIBLE_NUM);
+        if (updated == ChronoUnit.DAYS.between(startDate, endDate) + 1)
+            return true;
+        if (updated > 0)
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        return false;
+    }
+
+    // 기간 내 날짜별 표시 수를 1씩 줄임 (이미 있는 기록만 바뀌므로 기록을 만들지 않음)
+    public void removeVisibleNum(Long userIdx, LocalDate startDate, LocalDate endDate) {
+        dailyRecordRepository.addVisibleNum(userIdx, startDate, endDate, -1L);
+    }
+
+    public DailyRecordSumDto getDailyRecord(Long userIdx, LocalDate date) {
+        return dailyRecordRepository.sumRecords(userIdx, date, date);
+    }
+
+    public DailyRecordSumDto getMonthlyRecord(Long userIdx, Integer year, Integer month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return dailyRecordRepository.sumRecords(userIdx, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    public DailyRecordSumDto getTotalRecord(Long userIdx) {
+        return dailyRecordRepository.sumRecords(userIdx);
+    }
+
+    // 기존 계획/프로젝트로부터 표시 수를 다시 계산 (mmos.visible-num.rebuild=true 로 시작할 때 한 번)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildVisibleNums() {
+        if (!rebuildVisibleNum)
+            return;
+
+        long rebuilt = 0;
+        Long lastIdx = 0L;
+        while (true) {
+            List<Long> userIdxs = userRepository.findUserIdxs(lastIdx, PageRequest.of(0, CHUNK_SIZE));
+            if (userIdxs.isEmpty())
+                break;
+
+            for (Long userIdx : userIdxs)
+                transactionTemplate.executeWithoutResult(status -> rebuildVisibleNum(userIdx));
+            rebuilt += userIdxs.size();
+            lastIdx = userIdxs.get(userIdxs.size() - 1);
+        }
+        log.info("캘린더 표시 수 재계산 : " + rebuilt);
+    }
+
+    private void rebuildVisibleNum(Long userIdx) {
+        Map<LocalDate, Long> visibleNums = new TreeMap<>();
+        for (LocalDate date : planRepository.findVisiblePlanDates(userIdx))
+            visibleNums.merge(date, 1L, Long::sum);
+        for (ProjectResponseDto project : projectRepository.findProjects(userIdx)) {
+            if (!project.getProjectIsVisible())
+                continue;
+            for (LocalDate date = project.getProjectStartTime(); !date.isAfter(project.getProjectEndTime()); date = date.plusDays(1))
+                visibleNums.merge(date, 1L, Long::sum);
+        }
+
+        // 빈 row 를 모두 만든 후에 UPDATE
+        visibleNums.keySet().forEach(date -> createRecords(userIdx, date, date));
+        dailyRecordRepository.resetVisibleNum(userIdx);
+        visibleNums.forEach((date, visibleNum) -> dailyRecordRepository.addVisibleNum(userIdx, date, date, visibleNum));
+    }
+
+    // 기록이 없는 날짜는 빈 row 를 먼저 만듦 (현재 트랜잭션에서, 동시에 만들어진 경우 그대로 둠)
+    private void createRecords(Long userIdx, LocalDate startDate, LocalDate endDate) {
+        Set<LocalDate> dates = new HashSet<>(dailyRecordRepository.findRecordDates(userIdx, startDate, endDate));
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!dates.contains(date))
+                dailyRecordRepository.insertRecordIfAbsent(userIdx, date);
+        }
+    }
+}
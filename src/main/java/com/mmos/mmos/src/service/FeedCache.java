@@ -0,0 +1,88 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.post.PostListResponseDto;
+import com.mmos.mmos.src.domain.dto.study.StudyResponseDto;
+import com.mmos.mmos.utils.PageCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 홍보글 목록, 스터디 목록의 앞쪽 페이지 캐시
+ * 글/스터디가 생성, 수정, 삭제되면 커밋 후 비우고, 그 외 변경은 만료 시간(기본 1분)이 지나면 반영된다.
+ * 적중/실패 횟수는 주기적으로 로그에 남긴다.
+ */
+@Slf4j
+@Component
+public class FeedCache {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final int maxPage;
+    private final PageCache<Pageable, Page<PostListResponseDto>> promotions;
+    private final PageCache<Pageable, Page<StudyResponseDto>> studies;
+
+    public FeedCache(@Value("${mmos.cache.feed.max-page:3}") int maxPage,
+                     @Value("${mmos.cache.feed.max-size:100}") int maxSize,
+                     @Value("${mmos.cache.feed.expire-millis:60000}") long expireMillis) {
+        this.maxPage = maxPage;
+        this.promotions = new PageCache<>("promotions", maxSize, expireMillis);
+        this.studies = new PageCache<>("studies", maxSize, expireMillis);
+    }
+
+    public Page<PostListResponseDto> getPromotions(Pageable pageable, Supplier<Page<PostListResponseDto>> loader) {
+        return isCacheable(pageable) ? promotions.get(pageable, loader) : loader.get();
+    }
+
+    public Page<StudyResponseDto> getStudies(Pageable pageable, Supplier<Page<StudyResponseDto>> loader) {
+        return isCacheable(pageable) ? studies.get(pageable, loader) : loader.get();
+    }
+
+    public void invalidatePromotionsAfterCommit() {
+        afterCommit(promotions::invalidate);
+    }
+
+    public void invalidateStudiesAfterCommit() {
+        afterCommit(studies::invalidate);
+    }
+
+    @Scheduled(initialDelayString = "${mmos.cache.feed.stats-interval:3600000}",
+            fixedDelayString = "${mmos.cache.feed.stats-interval:3600000}")
+    public void logStats() {
+        logStats(promotions);
+        logStats(studies);
+    }
+
+    private void logStats(PageCache<?, ?> pageCache) {
+        long hits = pageCache.getHits();
+        long misses = pageCache.getMisses();
+        double hitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        log.info("목록 캐시 " + pageCache.getName() + " : 적중 " + hits + ", 실패 " + misses
+                + ", 적중률 " + String.format("%.2f", hitRate) + ", 크기 " + pageCache.getSize());
+    }
+
+    // 앞쪽 페이지만 캐시
+    private boolean isCacheable(Pageable pageable) {
+        return pageable.getPageNumber() < maxPage && pageable.getPageSize() <= MAX_PAGE_SIZE;
+    }
+
+    // 지금 비우고, 커밋 후에도 한 번 더 비운다 (커밋 전에 다시 조회된 페이지 제거)
+    private void afterCommit(Runnable invalidate) {
+        invalidate.run();
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate.run();
+            }
+        });
+    }
+}
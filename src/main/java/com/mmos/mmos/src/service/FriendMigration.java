@@ -0,0 +1,72 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.entity.Friend;
+import com.mmos.mmos.src.repository.FriendRepository;
+import com.mmos.mmos.src.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 관계마다 두 행(양쪽 유저 기준)으로 저장하던 친구 관계를 한 행으로 합침
+ * 유저 인덱스가 큰 쪽 행의 고정 여부를 작은 쪽 행으로 옮기고 삭제한다. (작은 쪽 행이 없다면 뒤집어서 새로 저장)
+ * 서버 시작 시 웹 서버가 요청을 받기 전에 실행하며 (빈 생성 직후, 웹 서버 시작 전), 이미 옮겼다면 할 일이 없다.
+ */
+@Slf4j
+@Component
+public class FriendMigration implements SmartInitializingSingleton {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final FriendRepository friendRepository;
+    private final UserRepository userRepository;
+    private final FriendRelationCache friendRelationCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public FriendMigration(FriendRepository friendRepository, UserRepository userRepository,
+                           FriendRelationCache friendRelationCache, PlatformTransactionManager transactionManager) {
+        this.friendRepository = friendRepository;
+        this.userRepository = userRepository;
+        this.friendRelationCache = friendRelationCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> friendRepository.initIsFixedByFriend());
+
+        long migrated = 0;
+        Long lastIdx = 0L;
+        while (true) {
+            List<Friend> reversedFriends = friendRepository.findReversedFriends(lastIdx, PageRequest.of(0, CHUNK_SIZE));
+            if (reversedFriends.isEmpty())
+                break;
+
+            transactionTemplate.executeWithoutResult(status -> reversedFriends.forEach(this::merge));
+            migrated += reversedFriends.size();
+            lastIdx = reversedFriends.get(reversedFriends.size() - 1).getFriendIndex();
+        }
+        if (migrated > 0)
+            log.info("친구 관계 한 행으로 합침 : " + migrated + "건");
+    }
+
+    private void merge(Friend reversedFriend) {
+        Long highIdx = reversedFriend.getUser().getUserIndex();
+        Long lowIdx = reversedFriend.getFriendUserIndex();
+
+        Friend friend = friendRepository.findFriendByUser_UserIndexAndFriendUserIndex(lowIdx, highIdx)
+                .orElseGet(() -> friendRepository.save(new Friend(Friend.reverseStatus(reversedFriend.getFriendStatus()), highIdx, userRepository.getReferenceById(lowIdx))));
+        friend.updateIsFixed(highIdx, reversedFriend.getFriendIsFixed());
+        friendRepository.delete(reversedFriend);
+        friendRelationCache.evictAfterCommit(lowIdx, highIdx);
+    }
+}
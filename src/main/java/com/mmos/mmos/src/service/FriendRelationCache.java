@@ -0,0 +1,163 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.friend.FriendEdgeDto;
+import com.mmos.mmos.src.domain.entity.Friend;
+import com.mmos.mmos.src.repository.FriendRepository;
+import com.mmos.mmos.utils.LongHashSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유저별 친구 관계 캐시 (최근에 조회한 유저만 보관)
+ * 유저마다 친구, 보낸 요청, 받은 요청 유저 인덱스를 long 집합으로 들고 있어서 "친구인지", "요청 중인지"를 DB 조회 없이 확인한다.
+ * 관계가 바뀌면 커밋 후 두 유저의 캐시를 지우고, 다음 조회 시 다시 불러온다.
+ * 호출한 트랜잭션의 오래된 스냅샷으로 캐시하지 않도록 새 읽기 전용 트랜잭션에서 불러온다.
+ */
+@Component
+public class FriendRelationCache {
+
+    public static final int NONE = 0;
+
+    private final FriendRepository friendRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Adjacency> entries;
+    // 불러오는 중인 유저 (불러오는 도중에 지워진 관계가 다시 캐시되지 않도록 유저별로 확인, 다 불러오면 제거)
+    private final Map<Long, Loading> loadings = new HashMap<>();
+
+    public FriendRelationCache(FriendRepository friendRepository, PlatformTransactionManager transactionManager,
+                               @Value("${mmos.friend.cache-size:10000}") int maxSize) {
+        this.friendRepository = friendRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Adjacency> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    // userIdx 기준 상태 (Friend.friendStatus 와 같은 값, 관계가 없으면 NONE)
+    public int getStatus(Long userIdx, Long otherIdx) {
+        return get(userIdx).statusOf(otherIdx);
+    }
+
+    public boolean isFriend(Long userIdx, Long otherIdx) {
+        return getStatus(userIdx, otherIdx) == 1;
+    }
+
+    // 어느 쪽이든 친구 요청이 수락/거절을 기다리는 중인지
+    public boolean isPending(Long userIdx, Long otherIdx) {
+        int status = getStatus(userIdx, otherIdx);
+        return status == 2 || status == 3;
+    }
+
+    // 현재 트랜잭션이 커밋된 후 두 유저의 캐시를 지움
+    public void evictAfterCommit(Long userIdx1, Long userIdx2) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userIdx1, userIdx2);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userIdx1, userIdx2);
+            }
+        });
+    }
+
+    public synchronized void evict(Long userIdx1, Long userIdx2) {
+        evict(userIdx1);
+        evict(userIdx2);
+    }
+
+    private void evict(Long userIdx) {
+        entries.remove(userIdx);
+        Loading loading = loadings.get(userIdx);
+        if (loading != null)
+            loading.generation++;
+    }
+
+    private Adjacency get(Long userIdx) {
+        Loading loading;
+        long loadGeneration;
+        synchronized (this) {
+            Adjacency adjacency = entries.get(userIdx);
+            if (adjacency != null)
+                return adjacency;
+            loading = loadings.computeIfAbsent(userIdx, idx -> new Loading());
+            loading.loaders++;
+            loadGeneration = loading.generation;
+        }
+
+        Adjacency adjacency = null;
+        try {
+            adjacency = transactionTemplate.execute(status -> load(userIdx));
+            return adjacency;
+        } finally {
+            synchronized (this) {
+                // 불러오는 동안 이 유저의 관계가 바뀌지 않았을 때만 캐시
+                if (adjacency != null && loading.generation == loadGeneration)
+                    entries.put(userIdx, adjacency);
+                if (--loading.loaders == 0)
+                    loadings.remove(userIdx);
+            }
+        }
+    }
+
+    private Adjacency load(Long userIdx) {
+        List<FriendEdgeDto> edges = friendRepository.findFriendEdges(userIdx);
+        Adjacency adjacency = new Adjacency(edges.size());
+        for (FriendEdgeDto edge : edges) {
+            boolean isUser = edge.getUserIdx().equals(userIdx);
+            long otherIdx = isUser ? edge.getFriendUserIdx() : edge.getUserIdx();
+            int status = isUser ? edge.getFriendStatus() : Friend.reverseStatus(edge.getFriendStatus());
+            if (status == 1)
+                adjacency.friends.add(otherIdx);
+            else if (status == 2)
+                adjacency.sent.add(otherIdx);
+            else if (status == 3)
+                adjacency.received.add(otherIdx);
+        }
+        return adjacency;
+    }
+
+    private static class Loading {
+
+        private int loaders;
+        private long generation;
+    }
+
+    // 불러온 후에는 바꾸지 않으므로 잠그지 않고 읽음
+    private static class Adjacency {
+
+        private final LongHashSet friends;
+        private final LongHashSet sent = new LongHashSet();
+        private final LongHashSet received = new LongHashSet();
+
+        private Adjacency(int expectedSize) {
+            this.friends = new LongHashSet(expectedSize);
+        }
+
+        private int statusOf(long otherIdx) {
+            if (friends.contains(otherIdx))
+                return 1;
+            if (sent.contains(otherIdx))
+                return 2;
+            if (received.contains(otherIdx))
+                return 3;
+            return NONE;
+        }
+    }
+}
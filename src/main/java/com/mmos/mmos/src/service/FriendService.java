@@ -1,19 +1,22 @@
 package com.mmos.mmos.src.service;
 
+import com.mmos.mmos.src.domain.dto.friend.FriendListResponseDto;
 import com.mmos.mmos.src.domain.dto.friend.FriendResponseDto;
+import com.mmos.mmos.src.domain.dto.friend.FriendSuggestionResponseDto;
 import com.mmos.mmos.src.domain.entity.Friend;
+import com.mmos.mmos.src.domain.entity.FriendSuggestion;
 import com.mmos.mmos.src.domain.entity.User;
 import com.mmos.mmos.src.repository.FriendRepository;
+import com.mmos.mmos.src.repository.FriendSuggestionRepository;
 import com.mmos.mmos.src.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 import static com.mmos.mmos.config.HttpResponseStatus.*;
 
@@ -23,17 +26,25 @@ public class FriendService {
 
     private final FriendRepository friendRepository;
     private final UserRepository userRepository;
+    private final FriendSuggestionRepository friendSuggestionRepository;
+    private final FriendRelationCache friendRelationCache;
 
     public User findUserByIdx(Long userIdx) {
         return userRepository.findById(userIdx)
                 .orElse(null);
     }
 
+    // 두 유저 사이의 관계 (순서 상관없이 한 행)
     public Friend findFriendByUserIdxAndFriendIdx(Long userIdx, Long friendIdx) {
-        return friendRepository.findFriendByUser_UserIndexAndFriendUserIndex(userIdx, friendIdx)
+        return friendRepository.findFriendByUser_UserIndexAndFriendUserIndex(Math.min(userIdx, friendIdx), Math.max(userIdx, friendIdx))
                 .orElse(null);
     }
 
+    // userIdx 기준 관계 상태 (0: 관계 없음, 1: 친구, 2: 보낸 요청, 3: 받은 요청)
+    public int getFriendStatus(Long userIdx, Long friendIdx) {
+        return friendRelationCache.getStatus(userIdx, friendIdx);
+    }
+
     @Transactional
     public FriendResponseDto requestFriend(Long userIdx1, Long userIdx2) {
         // 친추하려는 유저가 존재하는지 확인
@@ -41,49 +52,40 @@ public class FriendService {
         if (receiveUser == null)
             return new FriendResponseDto(INVALID_USER);
 
-        // 이미 친추 돼있는지 확인
-        User sendUser = findUserByIdx(userIdx1);
-        if (friendRepository.findFriendByUser_UserIndexAndFriendUserIndex(userIdx1, userIdx2).isPresent())
+        // 이미 친구이거나 요청 중인지 확인
+        if (friendRelationCache.getStatus(userIdx1, userIdx2) != FriendRelationCache.NONE)
             return new FriendResponseDto(FRIEND_COMPLETE_REQUEST);
 
-        Friend sendFriend = new Friend(2, receiveUser.getUserIndex(), sendUser);
-        Friend receiveFriend = new Friend(3, sendUser.getUserIndex(), receiveUser);
-
-        friendRepository.save(sendFriend);
-        friendRepository.save(receiveFriend);
-        sendUser.addFriend(receiveFriend);
-        receiveUser.addFriend(sendFriend);
+        User sendUser = findUserByIdx(userIdx1);
+        Friend friend = friendRepository.save(Friend.request(sendUser, receiveUser));
+        friendRelationCache.evictAfterCommit(userIdx1, userIdx2);
 
-        return new FriendResponseDto(receiveFriend, receiveUser, SUCCESS);
+        return new FriendResponseDto(friend, userIdx1, receiveUser, SUCCESS);
     }
 
     @Transactional
     public FriendResponseDto acceptRequest(Long userIdx2, Long userIdx1) {
-        Friend receiveFriend = findFriendByUserIdxAndFriendIdx(userIdx2, userIdx1);
-        User user = findUserByIdx(userIdx2);
-        Friend sendFriend = findFriendByUserIdxAndFriendIdx(userIdx1, userIdx2);
-
-        if (receiveFriend.getFriendStatus() == 1 || sendFriend.getFriendStatus() == 1)
+        // userIdx2 가 받은 요청만 수락 가능
+        Friend friend = findFriendByUserIdxAndFriendIdx(userIdx2, userIdx1);
+        if (friend == null || friend.getFriendStatusOf(userIdx2) != 3)
             return new FriendResponseDto(FRIEND_COMPLETE_REQUEST);
 
-        receiveFriend.updateStatus(1);
-        sendFriend.updateStatus(1);
+        friend.updateStatus(1);
+        friendRelationCache.evictAfterCommit(userIdx1, userIdx2);
 
-        return new FriendResponseDto(receiveFriend, user, SUCCESS);
+        return new FriendResponseDto(friend, userIdx2, findUserByIdx(userIdx1), SUCCESS);
     }
 
     @Transactional
     public Long rejectRequest(Long userIdx2, Long userIdx1) {
-        Friend receiveFriend = findFriendByUserIdxAndFriendIdx(userIdx2, userIdx1);
-        Friend sendFriend = findFriendByUserIdxAndFriendIdx(userIdx1, userIdx2);
-
-        if (receiveFriend == null || sendFriend == null)
+        Friend friend = findFriendByUserIdxAndFriendIdx(userIdx2, userIdx1);
+        if (friend == null)
             return null;
 
-        friendRepository.delete(receiveFriend);
-        friendRepository.delete(sendFriend);
+        friendRepository.delete(friend);
+        friendRelationCache.evictAfterCommit(userIdx1, userIdx2);
 
-        return receiveFriend.getFriendIndex();
+        return friend.getFriendIndex();
     }
 
     @Transactional
@@ -91,41 +93,60 @@ public class FriendService {
         Friend friend = findFriendByUserIdxAndFriendIdx(userIdx1, userIdx2);
         User user = findUserByIdx(userIdx2);
 
-        if (!friend.getFriendIsFixed())
-            friend.updateIsFixedToTrue();
-        else
-            friend.updateIsFixedToFalse();
+        friend.updateIsFixed(userIdx1, !friend.getIsFixedOf(userIdx1));
 
-        return new FriendResponseDto(friend, user, SUCCESS);
+        return new FriendResponseDto(friend, userIdx1, user, SUCCESS);
     }
 
-    @Transactional
+    // 친구 관계와 상대 유저 엔티티 (v1, 고정 친구 먼저)
+    // 페이지의 관계를 조회한 후 상대 유저를 한 번에 조회
+    @Transactional(readOnly = true)
     public Page<FriendResponseDto> getFriends(Long userIdx, Integer friendStatus, Pageable pageable) {
-        List<Friend> friendList = friendRepository.findFriendsByUser_UserIndexAndFriendStatus(userIdx, friendStatus);
-        List<FriendResponseDto> friendResponseDtoList = new ArrayList<>();
-        if (friendStatus == 1) {
-            // 고정 친구 먼저
-            for (Friend friend : friendList) {
-                if(friend.getFriendIsFixed()) {
-                    User user = findUserByIdx(friend.getFriendUserIndex());
-                    friendResponseDtoList.add(new FriendResponseDto(friend, user));
-                }
-            }
-            // 그 다음 고정 친구 아닌 유저
-            for (Friend friend : friendList) {
-                if(!friend.getFriendIsFixed()) {
-                    User user = findUserByIdx(friend.getFriendUserIndex());
-                    friendResponseDtoList.add(new FriendResponseDto(friend, user));
-                }
-            }
-        }
-        else {
-            for (Friend friend : friendList) {
-                User user = findUserByIdx(friend.getFriendUserIndex());
-                friendResponseDtoList.add(new FriendResponseDto(friend, user));
-            }
-        }
+        Page<Friend> friends = friendRepository.findFriendPage(userIdx, friendStatus, Friend.reverseStatus(friendStatus),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(friends.map(friend -> friend.getOtherUserIndex(userIdx)).getContent()))
+            users.put(user.getUserIndex(), user);
+        return friends.map(friend -> new FriendResponseDto(friend, userIdx, users.get(friend.getOtherUserIndex(userIdx)), null));
+    }
 
-        return new PageImpl<>(friendResponseDtoList, pageable, friendResponseDtoList.size());
+    // 친구 유저 정보까지 한 번에 조회 (v2, 고정 친구 먼저)
+    public Page<FriendListResponseDto> getFriendList(Long userIdx, Integer friendStatus, Pageable pageable) {
+        return friendRepository.findFriendList(userIdx, friendStatus, Friend.reverseStatus(friendStatus),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    // 추천 친구 목록 (계산 후 친구가 되었거나 요청 중인 유저는 제외)
+    public List<FriendSuggestionResponseDto> getFriendSuggestions(Long userIdx) {
+        FriendSuggestion friendSuggestion = friendSuggestionRepository.findFriendSuggestionByUser_UserIndex(userIdx)
+                .orElse(null);
+        if (friendSuggestion == null)
+            return new ArrayList<>();
+
+        // 유저 인덱스:함께 아는 친구 수:함께하는 스터디 수
+        Map<Long, String[]> candidates = new LinkedHashMap<>();
+        for (String candidate : friendSuggestion.getFriendsuggestionCandidates().split(",")) {
+            String[] values = candidate.split(":");
+            Long candidateIdx = Long.parseLong(values[0]);
+            if (friendRelationCache.getStatus(userIdx, candidateIdx) == FriendRelationCache.NONE)
+                candidates.put(candidateIdx, values);
+        }
+        if (candidates.isEmpty())
+            return new ArrayList<>();
+
+        // 유저 정보는 한 번에 조회한 후 추천 순서대로 정렬
+        Map<Long, FriendSuggestionResponseDto> users = new HashMap<>();
+        for (FriendSuggestionResponseDto user : userRepository.findFriendSuggestionUsers(candidates.keySet()))
+            users.put(user.getUserIdx(), user);
+
+        List<FriendSuggestionResponseDto> responseDtoList = new ArrayList<>();
+        candidates.forEach((candidateIdx, values) -> {
+            FriendSuggestionResponseDto user = users.get(candidateIdx);
+            if (user == null)
+                return;
+            user.setSuggestion(Integer.parseInt(values[1]), Integer.parseInt(values[2]));
+            responseDtoList.add(user);
+        });
+        return responseDtoList;
     }
 }
@@ -0,0 +1,409 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.friend.FriendEdgeDto;
+import com.mmos.mmos.src.domain.dto.user.UserMajorIdxDto;
+import com.mmos.mmos.src.domain.dto.userstudy.UserStudyIdxDto;
+import com.mmos.mmos.src.domain.entity.FriendSuggestion;
+import com.mmos.mmos.src.repository.FriendRepository;
+import com.mmos.mmos.src.repository.FriendSuggestionRepository;
+import com.mmos.mmos.src.repository.UserRepository;
+import com.mmos.mmos.src.repository.UserStudyRepository;
+import com.mmos.mmos.utils.CsrGraph;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 추천 친구 계산
+ * 유저, 친구 관계, 스터디 멤버, 전공을 int 인덱스로 바꿔 압축 인접 배열(CsrGraph)로 메모리에 올린 후
+ * 유저마다 함께 아는 친구 수, 함께하는 스터디 수, 같은 전공 여부로 점수를 매겨 상위 N 명을 FriendSuggestion 에 저장한다.
+ * 유저 묶음 단위로 여러 스레드에서 계산하고, 묶음마다 별도 트랜잭션으로 저장한다.
+ * 친구/멤버가 너무 많은 유저와 스터디는 건너뛰고 펼치지 않는다. (계산량이 이웃 수의 제곱으로 늘어나므로)
+ * 저장에 실패한 묶음(계산 중 탈퇴한 유저 등)은 이전 목록을 그대로 두고 다음 묶음을 계속 계산한다.
+ */
+@Slf4j
+@Component
+public class FriendSuggestionJob {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_SIZE = FriendSuggestion.MAX_CANDIDATE_NUM;
+    private static final int MUTUAL_FRIEND_WEIGHT = 3;
+    private static final int SHARED_STUDY_WEIGHT = 2;
+    private static final int SAME_MAJOR_WEIGHT = 1;
+    // 같은 전공 유저로 빈자리를 채울 때 살펴볼 최대 인원 (추천 인원의 배수)
+    private static final int MAJOR_SCAN_FACTOR = 10;
+
+    private final UserRepository userRepository;
+    private final FriendRepository friendRepository;
+    private final UserStudyRepository userStudyRepository;
+    private final FriendSuggestionRepository friendSuggestionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int size;
+    private final int threads;
+    private final int maxDegree;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "friend-suggestion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FriendSuggestionJob(UserRepository userRepository, FriendRepository friendRepository,
+                               UserStudyRepository userStudyRepository, FriendSuggestionRepository friendSuggestionRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${mmos.friend.suggestion.size:20}") int size,
+                               @Value("${mmos.friend.suggestion.threads:4}") int threads,
+                               @Value("${mmos.friend.suggestion.max-degree:1000}") int maxDegree) {
+        this.userRepository = userRepository;
+        this.friendRepository = friendRepository;
+        this.userStudyRepository = userStudyRepository;
+        this.friendSuggestionRepository = friendSuggestionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.size = Math.max(1, Math.min(size, MAX_SIZE));
+        this.threads = Math.max(1, threads);
+        this.maxDegree = maxDegree;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 스케줄러 스레드를 오래 붙잡지 않도록 별도 스레드에서 실행 (이미 실행 중이면 무시)
+    @Scheduled(cron = "${mmos.friend.suggestion-cron:0 0 3 * * *}")
+    public void start() {
+        if (!running.compareAndSet(false, true))
+            return;
+        try {
+            executor.execute(() -> {
+                try {
+                    run();
+                } catch (RuntimeException e) {
+                    log.error("추천 친구 계산 실패", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    private void run() {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime updatedAt = LocalDateTime.now();
+
+        Users users = loadUsers();
+        CsrGraph friends = loadFriends(users);
+        CsrGraph[] studies = loadStudies(users);
+        CsrGraph majors = groupByMajor(users);
+        log.info("추천 친구 그래프 준비 : 유저 " + users.size + "명, 친구 관계 " + friends.getEdgeNum() / 2 + "건, 스터디 멤버 "
+                + studies[0].getEdgeNum() + "건, " + (System.currentTimeMillis() - startTime) + "ms");
+
+        if (users.size == 0) {
+            transactionTemplate.executeWithoutResult(status -> friendSuggestionRepository.deleteByUserIdxRange(0L, Long.MAX_VALUE));
+            return;
+        }
+
+        // 유저 묶음을 스레드들이 차례로 가져가서 계산 후 저장
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicInteger failedChunkNum = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "friend-suggestion-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(workers.submit(() -> {
+                    Worker worker = new Worker(users, friends, studies[0], studies[1], majors);
+                    int start;
+                    while ((start = nextChunk.getAndAdd(CHUNK_SIZE)) < users.size)
+                        if (!save(users, start, Math.min(start + CHUNK_SIZE, users.size), worker, updatedAt))
+                            failedChunkNum.incrementAndGet();
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("추천 친구 계산 중단", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("추천 친구 계산 실패", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        log.info("추천 친구 계산 완료 : " + users.size + "명, 저장 실패 묶음 " + failedChunkNum.get() + "개, " + (System.currentTimeMillis() - startTime) + "ms");
+    }
+
+    // [start, end) 유저의 추천 목록을 계산해서 이전 목록과 바꿈 (저장에 실패하면 false)
+    private boolean save(Users users, int start, int end, Worker worker, LocalDateTime updatedAt) {
+        String[] candidates = new String[end - start];
+        for (int user = start; user < end; user++)
+            candidates[user - start] = worker.suggest(user);
+
+        // 묶음 사이의 빈 인덱스(탈퇴한 유저)도 지워지도록 범위로 삭제
+        Long startIdx = start == 0 ? 0L : users.userIdxs[start];
+        Long endIdx = end == users.size ? Long.MAX_VALUE : users.userIdxs[end] - 1;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                friendSuggestionRepository.deleteByUserIdxRange(startIdx, endIdx);
+                List<FriendSuggestion> suggestions = new ArrayList<>();
+                for (int user = start; user < end; user++) {
+                    if (candidates[user - start] != null)
+                        suggestions.add(new FriendSuggestion(userRepository.getReferenceById(users.userIdxs[user]), candidates[user - start], updatedAt));
+                }
+                friendSuggestionRepository.saveAll(suggestions);
+            });
+            return true;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("추천 친구 저장 실패 : 유저 " + startIdx + " ~ " + endIdx, e);
+            return false;
+        }
+    }
+
+    private Users loadUsers() {
+        long[] userIdxs = new long[(int) Math.max(CHUNK_SIZE, userRepository.count())];
+        int[] majors = new int[userIdxs.length];
+        Map<Long, Integer> majorIds = new HashMap<>();
+        int size = 0;
+
+        Long lastIdx = 0L;
+        while (true) {
+            List<UserMajorIdxDto> chunk = userRepository.findUserMajorIdxs(lastIdx, PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty())
+                break;
+
+            for (UserMajorIdxDto user : chunk) {
+                if (size == userIdxs.length) {
+                    userIdxs = Arrays.copyOf(userIdxs, size + (size >> 1));
+                    majors = Arrays.copyOf(majors, userIdxs.length);
+                }
+                userIdxs[size] = user.getUserIdx();
+                majors[size] = user.getMajorIdx() == null ? -1 : majorIds.computeIfAbsent(user.getMajorIdx(), idx -> majorIds.size());
+                size++;
+            }
+            lastIdx = chunk.get(chunk.size() - 1).getUserIdx();
+        }
+        return new Users(userIdxs, majors, size, majorIds.size());
+    }
+
+    private CsrGraph loadFriends(Users users) {
+        // 양방향으로 넣으므로 관계 수의 두 배
+        CsrGraph.Builder builder = new CsrGraph.Builder(users.size, friendRepository.countAcceptedFriends() * 2);
+        for (int start = 0; start < users.size; start += CHUNK_SIZE) {
+            for (FriendEdgeDto edge : friendRepository.findAcceptedFriendEdges(users.idxList(start, Math.min(start + CHUNK_SIZE, users.size)))) {
+                int user = users.indexOf(edge.getUserIdx());
+                int friend = users.indexOf(edge.getFriendUserIdx());
+                if (user >= 0 && friend >= 0 && user != friend)
+                    builder.addUndirectedEdge(user, friend);
+            }
+        }
+        return builder.build();
+    }
+
+    // [0]: 유저 -> 스터디, [1]: 스터디 -> 멤버
+    private CsrGraph[] loadStudies(Users users) {
+        Map<Long, Integer> studyIds = new HashMap<>();
+        CsrGraph.Builder builder = new CsrGraph.Builder(users.size, userStudyRepository.countMembers());
+        for (int start = 0; start < users.size; start += CHUNK_SIZE) {
+            for (UserStudyIdxDto userStudy : userStudyRepository.findMemberStudyIdxs(users.idxList(start, Math.min(start + CHUNK_SIZE, users.size)))) {
+                int user = users.indexOf(userStudy.getUserIdx());
+                if (user >= 0)
+                    builder.addEdge(user, studyIds.computeIfAbsent(userStudy.getStudyIdx(), idx -> studyIds.size()));
+            }
+        }
+        CsrGraph userStudies = builder.build();
+
+        // 뒤집어서 스터디 -> 멤버
+        CsrGraph.Builder studyMembers = new CsrGraph.Builder(studyIds.size(), userStudies.getEdgeNum());
+        for (int user = 0; user < users.size; user++) {
+            for (int i = userStudies.start(user); i < userStudies.end(user); i++)
+                studyMembers.addEdge(userStudies.target(i), user);
+        }
+        return new CsrGraph[]{userStudies, studyMembers.build()};
+    }
+
+    // 전공 -> 유저
+    private CsrGraph groupByMajor(Users users) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(users.majorNum, users.size);
+        for (int user = 0; user < users.size; user++) {
+            if (users.majors[user] >= 0)
+                builder.addEdge(users.majors[user], user);
+        }
+        return builder.build();
+    }
+
+    // 유저 인덱스 <-> 0 부터 시작하는 int (유저 인덱스 오름차순)
+    private static class Users {
+
+        private final long[] userIdxs;
+        private final int[] majors;
+        private final int size;
+        private final int majorNum;
+
+        private Users(long[] userIdxs, int[] majors, int size, int majorNum) {
+            this.userIdxs = userIdxs;
+            this.majors = majors;
+            this.size = size;
+            this.majorNum = majorNum;
+        }
+
+        private int indexOf(long userIdx) {
+            int index = Arrays.binarySearch(userIdxs, 0, size, userIdx);
+            return index >= 0 ? index : -1;
+        }
+
+        private List<Long> idxList(int start, int end) {
+            List<Long> idxs = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++)
+                idxs.add(userIdxs[i]);
+            return idxs;
+        }
+    }
+
+    // 스레드마다 하나씩 (유저 수만큼의 작업 배열을 유저마다 다시 쓰므로 공유하지 않음)
+    private class Worker {
+
+        private final Users users;
+        private final CsrGraph friends;
+        private final CsrGraph userStudies;
+        private final CsrGraph studyMembers;
+        private final CsrGraph majors;
+
+        // excluded[v] == stamp 이면 본인, 이미 친구, 이미 추천된 유저
+        private final int[] excluded;
+        private final int[] mutualFriendNums;
+        private final int[] sharedStudyNums;
+        private final int[] touched;
+
+        // 점수 내림차순 상위 size 명
+        private final int[] topUsers = new int[size];
+        private final int[] topScores = new int[size];
+        private int topNum;
+
+        private Worker(Users users, CsrGraph friends, CsrGraph userStudies, CsrGraph studyMembers, CsrGraph majors) {
+            this.users = users;
+            this.friends = friends;
+            this.userStudies = userStudies;
+            this.studyMembers = studyMembers;
+            this.majors = majors;
+            this.excluded = new int[users.size];
+            this.mutualFriendNums = new int[users.size];
+            this.sharedStudyNums = new int[users.size];
+            this.touched = new int[users.size];
+        }
+
+        // "유저 인덱스:함께 아는 친구 수:함께하는 스터디 수" 를 쉼표로 이은 문자열, 추천할 유저가 없으면 null
+        private String suggest(int user) {
+            int stamp = user + 1;
+            excluded[user] = stamp;
+            for (int i = friends.start(user); i < friends.end(user); i++)
+                excluded[friends.target(i)] = stamp;
+
+            // 친구의 친구
+            int touchedNum = 0;
+            for (int i = friends.start(user); i < friends.end(user); i++) {
+                int friend = friends.target(i);
+                if (friends.degree(friend) > maxDegree)
+                    continue;
+                for (int j = friends.start(friend); j < friends.end(friend); j++) {
+                    int candidate = friends.target(j);
+                    if (excluded[candidate] == stamp)
+                        continue;
+                    if (mutualFriendNums[candidate] == 0 && sharedStudyNums[candidate] == 0)
+                        touched[touchedNum++] = candidate;
+                    mutualFriendNums[candidate]++;
+                }
+            }
+
+            // 같은 스터디 멤버
+            for (int i = userStudies.start(user); i < userStudies.end(user); i++) {
+                int study = userStudies.target(i);
+                if (studyMembers.degree(study) > maxDegree)
+                    continue;
+                for (int j = studyMembers.start(study); j < studyMembers.end(study); j++) {
+                    int candidate = studyMembers.target(j);
+                    if (excluded[candidate] == stamp)
+                        continue;
+                    if (mutualFriendNums[candidate] == 0 && sharedStudyNums[candidate] == 0)
+                        touched[touchedNum++] = candidate;
+                    sharedStudyNums[candidate]++;
+                }
+            }
+
+            int major = users.majors[user];
+            topNum = 0;
+            for (int i = 0; i < touchedNum; i++) {
+                int candidate = touched[i];
+                int score = mutualFriendNums[candidate] * MUTUAL_FRIEND_WEIGHT + sharedStudyNums[candidate] * SHARED_STUDY_WEIGHT;
+                if (major >= 0 && users.majors[candidate] == major)
+                    score += SAME_MAJOR_WEIGHT;
+                offer(candidate, score);
+            }
+
+            StringBuilder candidates = new StringBuilder();
+            for (int i = 0; i < topNum; i++) {
+                int candidate = topUsers[i];
+                excluded[candidate] = stamp;
+                append(candidates, candidate, mutualFriendNums[candidate], sharedStudyNums[candidate]);
+            }
+            for (int i = 0; i < touchedNum; i++) {
+                mutualFriendNums[touched[i]] = 0;
+                sharedStudyNums[touched[i]] = 0;
+            }
+
+            // 빈자리는 같은 전공 유저로 채움 (유저마다 다른 위치부터 살펴봄)
+            if (topNum < size && major >= 0 && majors.degree(major) > 0) {
+                int groupSize = majors.degree(major);
+                int offset = Math.floorMod(user * 0x9E3779B9, groupSize);
+                int scanNum = Math.min(groupSize, size * MAJOR_SCAN_FACTOR);
+                for (int i = 0; i < scanNum && topNum < size; i++) {
+                    int candidate = majors.target(majors.start(major) + (offset + i) % groupSize);
+                    if (excluded[candidate] == stamp)
+                        continue;
+                    excluded[candidate] = stamp;
+                    topNum++;
+                    append(candidates, candidate, 0, 0);
+                }
+            }
+            return candidates.length() == 0 ? null : candidates.toString();
+        }
+
+        // 삽입 정렬 (size 가 작으므로 힙보다 단순하고 빠름), 같은 점수면 먼저 들어온 유저 우선
+        private void offer(int candidate, int score) {
+            if (topNum == size && score <= topScores[size - 1])
+                return;
+            int position = Math.min(topNum, size - 1);
+            while (position > 0 && topScores[position - 1] < score) {
+                topUsers[position] = topUsers[position - 1];
+                topScores[position] = topScores[position - 1];
+                position--;
+            }
+            topUsers[position] = candidate;
+            topScores[position] = score;
+            if (topNum < size)
+                topNum++;
+        }
+
+        private void append(StringBuilder candidates, int candidate, int mutualFriendNum, int sharedStudyNum) {
+            if (candidates.length() > 0)
+                candidates.append(',');
+            candidates.append(users.userIdxs[candidate]).append(':').append(mutualFriendNum).append(':').append(sharedStudyNum);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.image.ImageResponseDto;
+import com.mmos.mmos.utils.ImagePath;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.mmos.mmos.config.HttpResponseStatus.*;
+
+/**
+ * 게시글 이미지 저장소
+ * 업로드한 파일을 임시 파일로 바로 쓰면서 SHA-256 을 계산하고, 해시를 파일명으로 저장한다. (같은 이미지는 한 번만 저장)
+ * 형식은 클라이언트가 보낸 Content-Type 이 아니라 파일 앞부분(magic bytes)으로 판단하고, 가로/세로는 디코딩 전에 헤더에서 읽어 제한한다.
+ * 목록용 썸네일은 크기가 정해진 스레드 풀에서 만든다. (대기열이 가득 차면 건너뛰고, 썸네일 조회 시 다시 시도)
+ * webp 는 ImageIO 로 디코딩할 수 없어 썸네일을 만들지 않고 원본을 그대로 보낸다.
+ */
+@Slf4j
+@Service
+public class ImageService {
+
+    private static final int THUMBNAIL_WIDTH = 400;
+    private static final int HEADER_SIZE = 12;
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp");
+    // 썸네일을 만들 수 있는 형식
+    private static final Set<String> THUMBNAIL_EXTENSIONS = Set.of("jpg", "png", "gif");
+
+    private final Path root;
+    private final long maxPixels;
+    private final ThreadPoolExecutor thumbnailExecutor;
+    // 만드는 중인 썸네일 (같은 썸네일을 여러 번 만들지 않도록)
+    private final Set<Path> pendingThumbnails = ConcurrentHashMap.newKeySet();
+
+    public ImageService(@Value("${mmos.image.root:./data/images}") String root,
+                        @Value("${mmos.image.max-pixels:40000000}") long maxPixels,
+                        @Value("${mmos.image.thumbnail-threads:2}") int thumbnailThreads,
+                        @Value("${mmos.image.thumbnail-queue-size:100}") int thumbnailQueueSize) {
+        this.root = Paths.get(root);
+        this.maxPixels = maxPixels;
+        this.thumbnailExecutor = new ThreadPoolExecutor(thumbnailThreads, thumbnailThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(thumbnailQueueSize), runnable -> {
+            Thread thread = new Thread(runnable, "image-thumbnail");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailExecutor.shutdown();
+    }
+
+    // 이미지 업로드
+    public ImageResponseDto saveImage(MultipartFile file) {
+        if (file == null || file.isEmpty())
+            return new ImageResponseDto(POST_IMAGE_EMPTY_FILE);
+
+        Path tempPath = null;
+        try {
+            Files.createDirectories(root);
+            tempPath = Files.createTempFile(root, "upload", ".tmp");
+
+            // 임시 파일에 쓰면서 해시 계산
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(tempPath)) {
+                in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            String extension = detectExtension(tempPath);
+            if (extension == null)
+                return new ImageResponseDto(POST_IMAGE_INVALID_TYPE);
+            if (THUMBNAIL_EXTENSIONS.contains(extension) && !isAllowedSize(tempPath))
+                return new ImageResponseDto(POST_IMAGE_TOO_LARGE);
+
+            // 이미 있는 이미지면 저장하지 않음
+            String originalName = ImagePath.originalName(hash, extension);
+            Path originalPath = resolve(originalName);
+            if (!Files.exists(originalPath)) {
+                Files.createDirectories(originalPath.getParent());
+                Files.move(tempPath, originalPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            String thumbnailName = ImagePath.thumbnailName(hash);
+            scheduleThumbnail(extension, originalPath, resolve(thumbnailName));
+
+            return new ImageResponseDto(ImagePath.URL_PREFIX + originalName, ImagePath.URL_PREFIX + thumbnailName, SUCCESS);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("이미지 저장 실패", e);
+            return new ImageResponseDto(IMAGE_SAVE_ERROR);
+        } finally {
+            deleteQuietly(tempPath);
+        }
+    }
+
+    // 파일명으로 이미지 찾기 (썸네일이 아직 없으면 원본, 없으면 null)
+    public Path findImage(String name) {
+        String hash = ImagePath.hashOf(name);
+        if (hash == null)
+            return null;
+
+        Path path = resolve(name);
+        if (Files.exists(path))
+            return path;
+        if (ImagePath.isThumbnail(name)) {
+            for (String extension : CONTENT_TYPES.keySet()) {
+                Path originalPath = resolve(ImagePath.originalName(hash, extension));
+                if (Files.exists(originalPath)) {
+                    // 대기열이 가득 차서 건너뛰었던 썸네일은 다시 만듦
+                    scheduleThumbnail(extension, originalPath, path);
+                    return originalPath;
+                }
+            }
+        }
+        return null;
+    }
+
+    public String getContentType(Path path) {
+        String name = path.getFileName().toString();
+        return CONTENT_TYPES.getOrDefault(name.substring(name.lastIndexOf('.') + 1), "application/octet-stream");
+    }
+
+    // 파일 앞부분으로 형식 판단 (지원하지 않는 형식이면 null)
+    private String detectExtension(Path path) throws IOException {
+        byte[] header = new byte[HEADER_SIZE];
+        int length;
+        try (InputStream in = Files.newInputStream(path)) {
+            length = in.readNBytes(header, 0, HEADER_SIZE);
+        }
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF)
+            return "jpg";
+        if (length >= 8 && startsWith(header, 0, new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}))
+            return "png";
+        if (length >= 6 && (startsWith(header, 0, "GIF87a".getBytes()) || startsWith(header, 0, "GIF89a".getBytes())))
+            return "gif";
+        if (length >= 12 && startsWith(header, 0, "RIFF".getBytes()) && startsWith(header, 8, "WEBP".getBytes()))
+            return "webp";
+        return null;
+    }
+
+    private boolean startsWith(byte[] bytes, int offset, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++)
+            if (bytes[offset + i] != prefix[i])
+                return false;
+        return true;
+    }
+
+    // 디코딩하지 않고 헤더의 가로/세로만 읽어 확인 (읽을 수 없으면 거부)
+    private boolean isAllowedSize(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            ImageReader reader = reader(in);
+            if (reader == null)
+                return false;
+            try {
+                return (long) reader.getWidth(0) * reader.getHeight(0) <= maxPixels;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ImageReader reader(ImageInputStream in) {
+        if (in == null)
+            return null;
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext())
+            return null;
+        ImageReader reader = readers.next();
+        reader.setInput(in, true, true);
+        return reader;
+    }
+
+    private void scheduleThumbnail(String extension, Path originalPath, Path thumbnailPath) {
+        if (!THUMBNAIL_EXTENSIONS.contains(extension) || Files.exists(thumbnailPath) || !pendingThumbnails.add(thumbnailPath))
+            return;
+        try {
+            thumbnailExecutor.execute(() -> {
+                try {
+                    createThumbnail(originalPath, thumbnailPath);
+                } finally {
+                    pendingThumbnails.remove(thumbnailPath);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingThumbnails.remove(thumbnailPath);
+        }
+    }
+
+    private void createThumbnail(Path originalPath, Path thumbnailPath) {
+        Path tempPath = null;
+        try {
+            BufferedImage image;
+            try (ImageInputStream in = ImageIO.createImageInputStream(originalPath.toFile())) {
+                ImageReader reader = reader(in);
+                if (reader == null)
+                    return;
+                try {
+                    // 썸네일보다 훨씬 큰 이미지는 줄여서 읽음
+                    int subsampling = Math.max(1, reader.getWidth(0) / (THUMBNAIL_WIDTH * 2));
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                    image = reader.read(0, param);
+                } finally {
+                    reader.dispose();
+                }
+            }
+
+            int width = Math.min(THUMBNAIL_WIDTH, image.getWidth());
+            int height = Math.max(1, (int) ((long) image.getHeight() * width / image.getWidth()));
+            BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = thumbnail.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+            graphics.dispose();
+
+            tempPath = Files.createTempFile(thumbnailPath.getParent(), "thumbnail", ".tmp");
+            ImageIO.write(thumbnail, "jpg", tempPath.toFile());
+            Files.move(tempPath, thumbnailPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.error("썸네일 생성 실패 : " + originalPath, e);
+        } finally {
+            deleteQuietly(tempPath);
+        }
+    }
+
+    // 해시 앞 두 글자로 디렉토리를 나눔
+    private Path resolve(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null)
+            return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -4,15 +4,21 @@ import com.mmos.mmos.src.domain.dto.plan.PlanIsCompleteRequestDto;
 import com.mmos.mmos.src.domain.dto.plan.PlanNameUpdateRequestDto;
 import com.mmos.mmos.src.domain.dto.plan.PlanResponseDto;
 import com.mmos.mmos.src.domain.dto.plan.PlanSaveRequestDto;
+import com.mmos.mmos.src.domain.dto.planner.PlannerKeyDto;
 import com.mmos.mmos.src.domain.entity.*;
 import com.mmos.mmos.src.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.mmos.mmos.config.HttpResponseStatus.*;
 
@@ -25,10 +31,15 @@ public class PlanService {
     private final UserStudyRepository userStudyRepository;
     private final CalendarRepository calendarRepository;
     private final UserRepository userRepository;
-    private final ProjectRepository projectRepository;
+    private final StudyWeeklyTimeService studyWeeklyTimeService;
+    private final StudyTimeRepository studyTimeRepository;
 
-    private final PlannerService plannerService;
-    private final CalendarService calendarService;
+    private final StudyTimeRegistry studyTimeRegistry;
+    private final StudyTimeAggregator studyTimeAggregator;
+    private final DailyRecordService dailyRecordService;
+    private final PlannerResolver plannerResolver;
+    private final StudyRanking studyRanking;
+    private final TransactionTemplate transactionTemplate;
 
     public Planner findPlannerByIdx(Long plannerIdx) {
         return plannerRepository.findById(plannerIdx)
@@ -75,33 +86,19 @@ public class PlanService {
                 return new PlanResponseDto(USERSTUDY_NOT_EXIST_USERSTUDY);
         }
 
-        // 저장하려는 월의 캘린더가 존재하는지 확인
-        // 존재한다면 DB에서 가져오고, 존재하지 않는다면 DB에 새로 저장 후, 저장한 값 가져오기
-        Long calendarIdx;
-        Calendar calendar = findCalendarByUserIdx(userIdx, requestDto.getDate().getYear(), requestDto.getDate().getMonthValue());
-        if (calendar == null) {
-            calendarIdx = calendarService.saveCalendar(requestDto.getDate().getYear(), requestDto.getDate().getMonthValue(), userIdx).getIdx();
-        } else {
-            calendarIdx = calendar.getCalendarIndex();
-        }
-        // 저장하려는 날의 플래너가 존재하는지 확인
-        // 존재한다면 DB에서 가져오고, 존재하지 않는다면 DB에 새로 저장 후, 저장한 값 가져오기
-        Long plannerIdx;
-        Planner planner = findPlannerByCalendarIdxAndDate(calendarIdx, requestDto.getDate());
-        if (planner == null) {
-            plannerIdx = plannerService.savePlanner(requestDto.getDate(), calendarIdx).getIdx();
-        } else {
-            plannerIdx = planner.getPlannerIndex();
-        }
-
-        // Plan 객체 생성
-        planner = findPlannerByIdx(plannerIdx);
-        if(planner == null)
+        // 저장하려는 날의 캘린더, 플래너 id 조회 (없으면 생성)
+        LocalDate date = requestDto.getDate();
+        Long calendarIdx = plannerResolver.getCalendarIdx(userIdx, date.getYear(), date.getMonthValue());
+        if (calendarIdx == null)
+            return new PlanResponseDto(EMPTY_USER);
+        Long plannerIdx = plannerResolver.getPlannerIdx(calendarIdx, date);
+        if (plannerIdx == null)
             return new PlanResponseDto(EMPTY_PLANNER);
-        Plan plan = new Plan(requestDto, planner, userStudy);
+
+        // Plan 객체 생성 (플래너는 불러오지 않고 참조만)
+        Plan plan = new Plan(requestDto, plannerRepository.getReferenceById(plannerIdx), userStudy);
 
         // 역 FK 매핑
-        planner.addPlan(plan);
         if(userStudy != null)
             userStudy.addPlan(plan);
 
@@ -161,17 +158,54 @@ public class PlanService {
         return new PlanResponseDto(plan, SUCCESS);
     }
 
-    @Transactional
+    // 반영 대기 중인 공부시간까지 계획에 반영된 상태에서 삭제
+    // (전체 반영은 오래 걸릴 수 있으므로 삭제 트랜잭션을 열기 전에 반영)
     public PlanResponseDto deletePlan(Long planIdx) {
+        studyTimeAggregator.flush();
+        return transactionTemplate.execute(status -> removePlan(planIdx));
+    }
+
+    private PlanResponseDto removePlan(Long planIdx) {
         Plan plan = findPlanByIdx(planIdx);
         if(plan == null)
             return new PlanResponseDto(EMPTY_PLAN);
 
-        plan.getPlanner().minusTime(plan.getPlanStudyTime());
-        plan.getPlanner().getCalendar().minusTime(plan.getPlanStudyTime());
-        if(plan.getPlanIsStudy())
-            plan.getUserStudy().getStudy().minusAverageStudyTime(plan.getPlanStudyTime());
+        Long userIdx = plan.getPlanner().getCalendar().getUser().getUserIndex();
+        LocalDate plannerDate = plan.getPlanner().getPlannerDate();
 
+        // 공부시간이 반영된 날짜마다 그 날의 플래너, 캘린더, 일별 기록에서 뺌 (나머지는 계획 날짜에서 뺌)
+        Map<LocalDate, Long> dailyTimes = findDailyStudyTimes(plan);
+        long plannerDateTime = plan.getPlanStudyTime();
+        for (Map.Entry<LocalDate, Long> dailyTime : dailyTimes.entrySet()) {
+            if (!dailyTime.getKey().equals(plannerDate))
+                plannerDateTime -= dailyTime.getValue();
+        }
+        dailyTimes.remove(plannerDate);
+        if (!dailyTimes.isEmpty()) {
+            // 자정 마감 시 그 날의 플래너가 있었던 경우에만 반영되어 있음
+            for (PlannerKeyDto planner : plannerRepository.findPlannerKeys(List.of(userIdx), dailyTimes.keySet())) {
+                plannerRepository.addDailyStudyTime(planner.getPlannerIdx(), -dailyTimes.get(planner.getDate()));
+                calendarRepository.addMonthlyStudyTime(planner.getCalendarIdx(), -dailyTimes.get(planner.getDate()));
+            }
+            dailyTimes.forEach((date, time) -> dailyRecordService.addRecord(userIdx, date, -time, 0L));
+        }
+        plannerRepository.addDailyStudyTime(plan.getPlanner().getPlannerIndex(), -plannerDateTime);
+        calendarRepository.addMonthlyStudyTime(plan.getPlanner().getCalendar().getCalendarIndex(), -plannerDateTime);
+        dailyRecordService.addRecord(userIdx, plannerDate, -plannerDateTime, plan.getPlanIsComplete() ? -1L : 0L);
+
+        if(plan.getPlanIsStudy()) {
+            // 공부시간이 반영된 주마다 그 주의 공부시간에서 뺌
+            Long studyIdx = plan.getUserStudy().getStudy().getStudyIndex();
+            Map<LocalDate, Long> weeklyTimes = new HashMap<>();
+            dailyTimes.forEach((date, time) -> weeklyTimes.merge(StudyWeeklyTimeService.weekOf(date), time, Long::sum));
+            weeklyTimes.merge(StudyWeeklyTimeService.weekOf(plannerDate), plannerDateTime, Long::sum);
+            weeklyTimes.forEach((week, time) -> studyWeeklyTimeService.addTime(studyIdx, userIdx, week, -time));
+            studyRanking.refreshAfterCommit(studyIdx);
+        }
+        if(plan.getPlanIsVisible())
+            dailyRecordService.removeVisibleNum(userIdx, plannerDate, plannerDate);
+
+        studyTimeRegistry.discardPlan(userIdx, planIdx);
         planRepository.delete(plan);
 
         return new PlanResponseDto(plan, SUCCESS);
@@ -198,6 +232,8 @@ public class PlanService {
             planner.updateDailyScheduleNum(requestDto.getIsComplete());
             calendar.updateMonthlyPlanNum(requestDto.getIsComplete());
         }
+        dailyRecordService.addRecord(calendar.getUser().getUserIndex(), planner.getPlannerDate(),
+                0L, requestDto.getIsComplete() ? 1L : -1L);
 
         return new PlanResponseDto(plan, SUCCESS);
 
@@ -209,23 +245,38 @@ public class PlanService {
         Plan plan = findPlanByIdx(planIdx);
         if(plan == null)
             return new PlanResponseDto(EMPTY_PLAN);
-        Planner planner = plan.getPlanner();
-        User user = plan.getPlanner().getCalendar().getUser();
-
-        Long visiblePlanCount = planRepository.countByPlannerAndPlanIsVisibleTrue(planner);
-        Long visibleProjectCount = projectRepository.countByUserAndProjectIsVisibleTrue(user);
+        Long userIdx = plan.getPlanner().getCalendar().getUser().getUserIndex();
+        LocalDate date = plan.getPlanner().getPlannerDate();
 
+        // 그 날짜에 표시되는 계획 + 프로젝트 수는 일별 기록에서 5개 미만일 때만 늘림
         if (!plan.getPlanIsVisible()) {
-            if (visiblePlanCount + visibleProjectCount >= 5) {
+            if (!dailyRecordService.addVisibleNumIfNotFull(userIdx, date, date)) {
                 return new PlanResponseDto(POST_PLAN_ISVISIBLE_FULL);
             }
 
             plan.updateIsVisible(true);
         } else {
             plan.updateIsVisible(false);
+            dailyRecordService.removeVisibleNum(userIdx, date, date);
         }
 
         return new PlanResponseDto(plan, SUCCESS);
     }
 
+    // 계획의 공부시간을 반영된 날짜별로 나눔
+    // 자정 자동 마감으로 나뉜 구간(직전 구간이 끝난 자정에 시작)은 그 날짜, 나머지는 계획 날짜에 반영되어 있음
+    private Map<LocalDate, Long> findDailyStudyTimes(Plan plan) {
+        Map<LocalDate, Long> dailyTimes = new HashMap<>();
+        Timestamp prevEndTime = null;
+        for (StudyTime studyTime : studyTimeRepository.findAggregatedStudyTimes(plan.getPlanIndex())) {
+            Timestamp startTime = studyTime.getStudytimeStartTime();
+            boolean isSegment = startTime.equals(prevEndTime) && startTime.toLocalDateTime().toLocalTime().equals(LocalTime.MIDNIGHT);
+            LocalDate date = isSegment ? startTime.toLocalDateTime().toLocalDate() : plan.getPlanner().getPlannerDate();
+            long time = (studyTime.getStudytimeEndTime().getTime() - startTime.getTime()) / 60000;
+            if (time > 0)
+                dailyTimes.merge(date, time, Long::sum);
+            prevEndTime = studyTime.getStudytimeEndTime();
+        }
+        return dailyTimes;
+    }
 }
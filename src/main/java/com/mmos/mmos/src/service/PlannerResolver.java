@@ -0,0 +1,94 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.entity.Calendar;
+import com.mmos.mmos.src.domain.entity.Planner;
+import com.mmos.mmos.src.repository.CalendarRepository;
+import com.mmos.mmos.src.repository.PlannerRepository;
+import com.mmos.mmos.src.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * (유저, 연, 월) → 캘린더, (캘린더, 날짜) → 플래너 id 조회 (없으면 생성)
+ * 계획을 추가할 때마다 캘린더/플래너를 조회, 생성, 재조회하지 않도록 id 를 최근 사용한 것만 캐시한다.
+ * 동시에 생성하는 경우는 unique 제약으로 막고, 먼저 생성된 것을 다시 조회한다.
+ */
+@Component
+public class PlannerResolver {
+
+    private final CalendarRepository calendarRepository;
+    private final PlannerRepository plannerRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Object, Long> idxs;
+
+    public PlannerResolver(CalendarRepository calendarRepository, PlannerRepository plannerRepository,
+                           UserRepository userRepository, PlatformTransactionManager transactionManager,
+                           @Value("${mmos.planner.cache-size:10000}") int cacheSize) {
+        this.calendarRepository = calendarRepository;
+        this.plannerRepository = plannerRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.idxs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // 유저가 존재하지 않으면 null
+    public Long getCalendarIdx(Long userIdx, Integer year, Integer month) {
+        return resolve(new CalendarKey(userIdx, year, month),
+                () -> calendarRepository.findCalendarIdx(userIdx, year, month).orElse(null),
+                () -> calendarRepository.save(new Calendar(year, month, userRepository.getReferenceById(userIdx))).getCalendarIndex());
+    }
+
+    // 캘린더가 존재하지 않으면 null
+    public Long getPlannerIdx(Long calendarIdx, LocalDate date) {
+        return resolve(new PlannerKey(calendarIdx, date),
+                () -> plannerRepository.findPlannerIdx(calendarIdx, date).orElse(null),
+                () -> plannerRepository.save(new Planner(date, calendarRepository.getReferenceById(calendarIdx))).getPlannerIndex());
+    }
+
+    private Long resolve(Object key, Supplier<Long> finder, Supplier<Long> creator) {
+        synchronized (idxs) {
+            Long idx = idxs.get(key);
+            if (idx != null)
+                return idx;
+        }
+
+        Long idx = finder.get();
+        if (idx == null) {
+            // 별도 트랜잭션에서 생성 (이미 생성되었거나 참조하는 row 가 없으면 다시 조회)
+            // 다시 조회도 새 트랜잭션에서 해야 호출한 트랜잭션의 스냅샷에 없는, 다른 트랜잭션이 커밋한 row 가 보임
+            try {
+                idx = transactionTemplate.execute(status -> creator.get());
+            } catch (DataIntegrityViolationException e) {
+                idx = transactionTemplate.execute(status -> finder.get());
+            }
+        }
+        if (idx != null) {
+            synchronized (idxs) {
+                idxs.put(key, idx);
+            }
+        }
+        return idx;
+    }
+
+    private record CalendarKey(Long userIdx, Integer year, Integer month) {
+    }
+
+    private record PlannerKey(Long calendarIdx, LocalDate date) {
+    }
+}
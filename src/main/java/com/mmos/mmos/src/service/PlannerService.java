@@ -1,9 +1,9 @@
 package com.mmos.mmos.src.service;
 
 import com.mmos.mmos.src.domain.dto.planner.PlannerResponseDto;
+import com.mmos.mmos.src.domain.dto.project.ProjectResponseDto;
 import com.mmos.mmos.src.domain.entity.Calendar;
 import com.mmos.mmos.src.domain.entity.Planner;
-import com.mmos.mmos.src.domain.entity.Project;
 import com.mmos.mmos.src.domain.entity.User;
 import com.mmos.mmos.src.repository.CalendarRepository;
 import com.mmos.mmos.src.repository.PlannerRepository;
@@ -13,7 +13,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.mmos.mmos.config.HttpResponseStatus.*;
@@ -25,6 +24,7 @@ public class PlannerService {
     private final PlannerRepository plannerRepository;
     private final CalendarRepository calendarRepository;
     private final UserRepository userRepository;
+    private final ProjectIntervalCache projectIntervalCache;
 
     public Calendar findCalendarByIdx(Long calendarIdx) {
         return calendarRepository.findById(calendarIdx)
@@ -79,26 +79,11 @@ public class PlannerService {
         if(planner == null)
             return new PlannerResponseDto(EMPTY_PLANNER);
 
-        User user = findUserByIdx(userIdx);
-        if(user == null)
+        if(!userRepository.existsById(userIdx))
             return new PlannerResponseDto(EMPTY_USER);
 
-        List<Project> userProjectList = user.getUserProjects();
-
         // 해당 날짜를 포함하는 Project 찾기
-        List<Project> plannerProjectList = new ArrayList<>();
-        LocalDate targetDate = planner.getPlannerDate();  // 특정 날짜 가져오기
-
-        for (Project project : userProjectList){
-            LocalDate projectStart = project.getProjectStartTime();
-            LocalDate projectEnd = project.getProjectEndTime();
-
-            // 특정 날짜가 프로젝트의 시작과 종료 사이에 있는지 확인
-            if ((projectStart.isBefore(targetDate) || projectStart.isEqual(targetDate)) &&
-                    (projectEnd.isAfter(targetDate) || projectEnd.isEqual(targetDate))) {
-                plannerProjectList.add(project);
-            }
-        }
+        List<ProjectResponseDto> plannerProjectList = projectIntervalCache.findProjects(userIdx, planner.getPlannerDate());
 
         PlannerResponseDto responseDto = new PlannerResponseDto(planner, plannerProjectList, SUCCESS);
         return responseDto;
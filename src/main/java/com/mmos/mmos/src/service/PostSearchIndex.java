@@ -0,0 +1,317 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.post.PostTextDto;
+import com.mmos.mmos.src.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 홍보 게시글 제목/내용 검색 인덱스
+ * 한글은 띄어쓰기 단위로 찾기 어려우므로 단어를 두 글자씩 잘라(bigram) 역색인을 만든다.
+ * 검색어의 bigram 을 모두 포함하는 게시글을 제목 가중치 + idf 로 정렬해서 반환한다. (bigram 보다 짧은 단어가 있는 검색어는 DB 에서 검색)
+ * 게시글 생성/수정/삭제 시 커밋 후 반영하고, 주기적으로 로컬 파일에 저장해 두었다가 서버 시작 시 불러온 후 그 사이 변경분만 다시 반영한다.
+ */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int GRAM_SIZE = 2;
+    private static final int SNAPSHOT_VERSION = 2;
+    // 저장 시점에 커밋 중이던 변경도 다시 반영하도록 여유를 둠
+    private static final long SNAPSHOT_MARGIN = 60 * 1000L;
+
+    private final PostRepository postRepository;
+    private final Path snapshotPath;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // bigram -> (postIdx -> 가중치)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // postIdx -> (bigram -> 가중치), 수정/삭제 시 postings 에서 빼기 위해 보관
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private volatile boolean ready = false;
+    private volatile boolean dirty = false;
+
+    public PostSearchIndex(PostRepository postRepository,
+                           @Value("${mmos.search.index-path:./data/post-search.idx}") String snapshotPath) {
+        this.postRepository = postRepository;
+        this.snapshotPath = Paths.get(snapshotPath);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startTime = System.currentTimeMillis();
+        if (!readSnapshot())
+            rebuild();
+        ready = true;
+        dirty = true;
+        log.info("게시글 검색 인덱스 준비 : " + documents.size() + "건, " + (System.currentTimeMillis() - startTime) + "ms");
+    }
+
+    // 검색어의 bigram 을 모두 포함하는 postIdx (점수순). 인덱스가 아직 준비되지 않았거나 한 글자 단어가 있으면 null
+    public List<Long> search(String query) {
+        if (!ready || hasShortWord(query))
+            return null;
+        Set<String> terms = tokenize(query, 1, new HashMap<>()).keySet();
+        if (terms.isEmpty())
+            return new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>();
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null)
+                    return new ArrayList<>();
+                termPostings.add(posting);
+            }
+            // 가장 짧은 목록을 기준으로 교집합
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            double size = documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long postIdx : termPostings.get(0).keySet()) {
+                double score = 0;
+                for (Map<Long, Integer> posting : termPostings) {
+                    Integer weight = posting.get(postIdx);
+                    if (weight == null) {
+                        score = -1;
+                        break;
+                    }
+                    score += weight * Math.log(1 + size / posting.size());
+                }
+                if (score >= 0)
+                    scores.put(postIdx, score);
+            }
+
+            List<Long> postIdxs = new ArrayList<>(scores.keySet());
+            postIdxs.sort((a, b) -> {
+                int compare = Double.compare(scores.get(b), scores.get(a));
+                return compare != 0 ? compare : Long.compare(b, a);
+            });
+            return postIdxs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 현재 트랜잭션이 커밋된 후 반영
+    public void indexAfterCommit(Long postIdx, String title, String contents) {
+        afterCommit(() -> index(postIdx, title, contents));
+    }
+
+    public void removeAfterCommit(Long postIdx) {
+        afterCommit(() -> remove(postIdx));
+    }
+
+    public void index(Long postIdx, String title, String contents) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(title, TITLE_WEIGHT, terms);
+        tokenize(contents, 1, terms);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(postIdx);
+            addDocument(postIdx, terms);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postIdx) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postIdx);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${mmos.search.snapshot-interval:60000}")
+    public synchronized void writeSnapshot() {
+        if (!ready || !dirty)
+            return;
+
+        // 문서별 bigram 맵은 반영 후 바꾸지 않으므로 목록만 복사하고, 파일은 잠금을 푼 후 씀
+        List<Map.Entry<Long, Map<String, Integer>>> snapshot;
+        lock.readLock().lock();
+        try {
+            dirty = false;
+            snapshot = new ArrayList<>(documents.size());
+            documents.forEach((postIdx, terms) -> snapshot.add(Map.entry(postIdx, terms)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null)
+                Files.createDirectories(snapshotPath.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempPath))))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Long, Map<String, Integer>> document : snapshot) {
+                    out.writeLong(document.getKey());
+                    out.writeInt(document.getValue().size());
+                    for (Map.Entry<String, Integer> term : document.getValue().entrySet()) {
+                        out.writeUTF(term.getKey());
+                        out.writeInt(term.getValue());
+                    }
+                }
+            }
+            Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.error("게시글 검색 인덱스 저장 실패", e);
+        }
+    }
+
+    // 저장된 인덱스를 불러온 후 저장 이후의 생성/수정/삭제만 다시 반영
+    private boolean readSnapshot() {
+        if (!Files.exists(snapshotPath))
+            return false;
+
+        long snapshotTime;
+        long lastIdx = 0;
+        lock.writeLock().lock();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotPath))))) {
+            if (in.readInt() != SNAPSHOT_VERSION)
+                return false;
+            snapshotTime = in.readLong();
+            int documentNum = in.readInt();
+            for (int i = 0; i < documentNum; i++) {
+                long postIdx = in.readLong();
+                int termNum = in.readInt();
+                Map<String, Integer> terms = new HashMap<>(termNum * 2);
+                for (int j = 0; j < termNum; j++)
+                    terms.put(in.readUTF(), in.readInt());
+                addDocument(postIdx, terms);
+                lastIdx = Math.max(lastIdx, postIdx);
+            }
+        } catch (IOException e) {
+            log.error("게시글 검색 인덱스 불러오기 실패", e);
+            postings.clear();
+            documents.clear();
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Set<Long> postIdxs = new HashSet<>(postRepository.findPromotionIdxs());
+        for (Long postIdx : new ArrayList<>(documents.keySet())) {
+            if (!postIdxs.contains(postIdx))
+                remove(postIdx);
+        }
+        for (PostTextDto post : postRepository.findPromotionTextsChangedAfter(lastIdx, new Timestamp(snapshotTime - SNAPSHOT_MARGIN)))
+            index(post.getIdx(), post.getTitle(), post.getContents());
+        return true;
+    }
+
+    private void rebuild() {
+        Long lastIdx = 0L;
+        while (true) {
+            List<PostTextDto> posts = postRepository.findPromotionTexts(lastIdx, PageRequest.of(0, CHUNK_SIZE));
+            if (posts.isEmpty())
+                break;
+
+            for (PostTextDto post : posts)
+                index(post.getIdx(), post.getTitle(), post.getContents());
+            lastIdx = posts.get(posts.size() - 1).getIdx();
+        }
+    }
+
+    private void addDocument(Long postIdx, Map<String, Integer> terms) {
+        if (terms.isEmpty())
+            return;
+        documents.put(postIdx, terms);
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(postIdx, weight));
+    }
+
+    private void removeDocument(Long postIdx) {
+        Map<String, Integer> terms = documents.remove(postIdx);
+        if (terms == null)
+            return;
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null)
+                continue;
+            posting.remove(postIdx);
+            if (posting.isEmpty())
+                postings.remove(term);
+        }
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    // bigram 이 없는 한 글자 단어가 있는지
+    private static boolean hasShortWord(String text) {
+        if (text == null)
+            return false;
+        int wordLength = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                wordLength++;
+                continue;
+            }
+            if (wordLength > 0 && wordLength < GRAM_SIZE)
+                return true;
+            wordLength = 0;
+        }
+        return false;
+    }
+
+    // 대소문자 구분 없이, 글자/숫자가 이어진 단어를 두 글자씩 자름
+    private static Map<String, Integer> tokenize(String text, int weight, Map<String, Integer> terms) {
+        if (text == null)
+            return terms;
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int wordStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean isWordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (isWordChar && wordStart < 0) {
+                wordStart = i;
+            } else if (!isWordChar && wordStart >= 0) {
+                for (int j = wordStart; j + GRAM_SIZE <= i; j++)
+                    terms.merge(normalized.substring(j, j + GRAM_SIZE), weight, Integer::sum);
+                wordStart = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -1,7 +1,9 @@
 package com.mmos.mmos.src.service;
 
+import com.mmos.mmos.src.domain.dto.post.PostListResponseDto;
 import com.mmos.mmos.src.domain.dto.post.PostResponseDto;
 import com.mmos.mmos.src.domain.dto.post.PostSaveRequestDto;
+import com.mmos.mmos.src.domain.dto.post.PostScrollResponseDto;
 import com.mmos.mmos.src.domain.dto.post.PostUpdateRequestDto;
 import com.mmos.mmos.src.domain.entity.Post;
 import com.mmos.mmos.src.domain.entity.Study;
@@ -11,15 +13,19 @@ import com.mmos.mmos.src.repository.PostRepository;
 import com.mmos.mmos.src.repository.StudyRepository;
 import com.mmos.mmos.src.repository.UserRepository;
 import com.mmos.mmos.src.repository.UserStudyRepository;
+import com.mmos.mmos.utils.Cursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.mmos.mmos.config.HttpResponseStatus.*;
 
@@ -31,6 +37,8 @@ public class PostService {
     private final UserRepository userRepository;
     private final StudyRepository studyRepository;
     private final UserStudyRepository userStudyRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final FeedCache feedCache;
 
     public User findUserByIdx(Long userIdx) {
         return userRepository.findById(userIdx)
@@ -47,16 +55,6 @@ public class PostService {
                 .orElse(null);
     }
 
-    public List<Post> findPostsByPostIsNotice(Boolean isNotice) {
-        return postRepository.findPostsByPostIsNotice(isNotice)
-                .orElse(null);
-    }
-
-    public List<Post> findPostsByStudy(Study study) {
-        return postRepository.findPostsByPostIsNoticeAndStudy(true, study)
-                .orElse(null);
-    }
-
     public UserStudy findUserStudyByIdx(Long userStudyIdx) {
         return userStudyRepository.findById(userStudyIdx)
                 .orElse(null);
@@ -83,6 +81,10 @@ public class PostService {
 
         study.addPost(post);
         postRepository.save(post);
+        if (!post.getPostIsNotice()) {
+            postSearchIndex.indexAfterCommit(post.getPostIndex(), post.getPostTitle(), post.getPostContents());
+            feedCache.invalidatePromotionsAfterCommit();
+        }
 
         return new PostResponseDto(post, SUCCESS);
     }
@@ -100,11 +102,15 @@ public class PostService {
             return new PostResponseDto(POST_NOT_AUTHORIZED);
 
         if (postUpdateRequestDto.getTitle() != null)
-            post.updateTitle(postUpdateRequestDto.getTitle().toLowerCase());
+            post.updateTitle(postUpdateRequestDto.getTitle());
         if (postUpdateRequestDto.getContents() != null)
-            post.updateContents(postUpdateRequestDto.getContents().toLowerCase());
+            post.updateContents(postUpdateRequestDto.getContents());
         if (postUpdateRequestDto.getImage() != null)
             post.updateImage(postUpdateRequestDto.getImage());
+        if (!post.getPostIsNotice()) {
+            postSearchIndex.indexAfterCommit(post.getPostIndex(), post.getPostTitle(), post.getPostContents());
+            feedCache.invalidatePromotionsAfterCommit();
+        }
 
         return new PostResponseDto(post, SUCCESS);
     }
@@ -119,37 +125,61 @@ public class PostService {
         return new PostResponseDto(post, SUCCESS);
     }
 
-    // 홍보 게시글 전체 조회
-    @Transactional
-    public Page<PostResponseDto> getPromotions(Boolean isNotice, Pageable pageable) {
-        List<PostResponseDto> responseDtoList = new ArrayList<>();
-        List<Post> posts = findPostsByPostIsNotice(isNotice);
-
-        for (Post post : posts) {
-            if (!post.getPostIsNotice()) {
-                responseDtoList.add(new PostResponseDto(post));
-            }
+    // 홍보 게시글 전체 조회 (내용 제외, DB 에서 페이징)
+    @Transactional(readOnly = true)
+    public Page<PostListResponseDto> getPromotions(Boolean isNotice, Pageable pageable) {
+        if (isNotice)
+            return postRepository.findPostList(true, pageable);
+        // 앞쪽 페이지는 캐시에서 조회
+        return feedCache.getPromotions(pageable, () -> postRepository.findPostList(false, pageable));
+    }
+
+    // 내 스터디 공지 게시글 조회 (내용 제외, DB 에서 페이징)
+    @Transactional(readOnly = true)
+    public Page<PostListResponseDto> getNotices(Long userIdx, Long studyIdx, Pageable pageable) {
+        if(!studyRepository.existsById(studyIdx)) {
+            return null;
         }
 
-        return new PageImpl<>(responseDtoList, pageable, responseDtoList.size());
+        return postRepository.findNoticeList(studyIdx, pageable);
     }
 
-    // 내 스터디 공지 게시글 조회
-    @Transactional
-    public Page<PostResponseDto> getNotices(Long userIdx, Long studyIdx, Pageable pageable) {
-        List<PostResponseDto> responseDtoList = new ArrayList<>();
-
-        Study study = findStudyByIdx(studyIdx);
-        if(study == null) {
-            return null;
+    // 홍보 게시글 무한 스크롤 조회 (최신순)
+    @Transactional(readOnly = true)
+    public PostScrollResponseDto getPromotionScroll(String cursor, int size) {
+        Long lastIdx;
+        try {
+            lastIdx = Cursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return new PostScrollResponseDto(GET_POST_INVALID_CURSOR);
         }
 
-        List<Post> postList = findPostsByStudy(study);
-        for (Post post : postList) {
-            responseDtoList.add(new PostResponseDto(post));
+        return toScroll(postRepository.findPostScroll(false, lastIdx == null ? Long.MAX_VALUE : lastIdx, PageRequest.of(0, size + 1)), size);
+    }
+
+    // 내 스터디 공지 게시글 무한 스크롤 조회 (최신순)
+    @Transactional(readOnly = true)
+    public PostScrollResponseDto getNoticeScroll(Long studyIdx, String cursor, int size) {
+        Long lastIdx;
+        try {
+            lastIdx = Cursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return new PostScrollResponseDto(GET_POST_INVALID_CURSOR);
         }
+        if(!studyRepository.existsById(studyIdx))
+            return new PostScrollResponseDto(EMPTY_STUDY);
+
+        return toScroll(postRepository.findNoticeScroll(studyIdx, lastIdx == null ? Long.MAX_VALUE : lastIdx, PageRequest.of(0, size + 1)), size);
+    }
+
+    // 한 개 더 조회해서 다음 페이지가 있는지 확인
+    private PostScrollResponseDto toScroll(List<PostListResponseDto> posts, int size) {
+        boolean hasNext = posts.size() > size;
+        if(hasNext)
+            posts = posts.subList(0, size);
+        String nextCursor = hasNext ? Cursor.encode(posts.get(posts.size() - 1).getIdx()) : null;
 
-        return new PageImpl<>(responseDtoList, pageable, responseDtoList.size());
+        return new PostScrollResponseDto(posts, nextCursor, hasNext, SUCCESS);
     }
 
     // 게시글 삭제
@@ -167,24 +197,36 @@ public class PostService {
 
 
         postRepository.delete(post);
+        postSearchIndex.removeAfterCommit(postIdx);
+        if (!post.getPostIsNotice())
+            feedCache.invalidatePromotionsAfterCommit();
 
         return postIdx;
     }
 
-    @Transactional
-    public Page<PostResponseDto> searchPromotionByTitleAndContents(String searchStr, Pageable pageable) {
-        try {
-            List<Post> postList = postRepository.findPostsByPostTitleContainingOrPostContentsContaining(searchStr.toUpperCase(), searchStr.toUpperCase()).orElse(null);
-            List<PostResponseDto> responseDtoList = new ArrayList<>();
-            for (Post post : postList) {
-                responseDtoList.add(new PostResponseDto(post));
-            }
-
-            return new PageImpl<>(responseDtoList, pageable, responseDtoList.size());
+    // 홍보 게시글 제목, 내용 검색 (검색 인덱스에서 점수순으로 찾은 후 해당 페이지만 조회)
+    @Transactional(readOnly = true)
+    public Page<PostListResponseDto> searchPromotionByTitleAndContents(String searchStr, Pageable pageable) {
+        List<Long> postIdxs = postSearchIndex.search(searchStr);
+        // 서버 시작 직후 인덱스가 준비되기 전이나 한 글자 단어로 찾을 때는 DB 에서 검색
+        if (postIdxs == null)
+            return postRepository.searchPromotionList(searchStr, pageable);
+
+        int from = (int) Math.min(pageable.getOffset(), postIdxs.size());
+        int to = Math.min(from + pageable.getPageSize(), postIdxs.size());
+        List<Long> pageIdxs = postIdxs.subList(from, to);
+
+        Map<Long, PostListResponseDto> posts = new HashMap<>();
+        if (!pageIdxs.isEmpty()) {
+            for (PostListResponseDto post : postRepository.findPostList(pageIdxs))
+                posts.put(post.getIdx(), post);
         }
-        catch (Exception e) {
-            e.printStackTrace();
-            return null;
+        List<PostListResponseDto> responseDtoList = new ArrayList<>();
+        for (Long postIdx : pageIdxs) {
+            if (posts.containsKey(postIdx))
+                responseDtoList.add(posts.get(postIdx));
         }
+
+        return new PageImpl<>(responseDtoList, pageable, postIdxs.size());
     }
 }
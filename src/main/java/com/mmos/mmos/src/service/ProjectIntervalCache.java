@@ -0,0 +1,105 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.project.ProjectResponseDto;
+import com.mmos.mmos.src.repository.ProjectRepository;
+import com.mmos.mmos.utils.IntervalTree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유저별 프로젝트 기간 인덱스
+ * 날짜와 겹치는 프로젝트를 찾을 때마다 유저의 모든 프로젝트를 훑지 않도록 구간 트리로 만들어 둔다.
+ * 최근 사용한 유저만 유지하며, 프로젝트가 생성/수정/삭제되면 해당 유저의 인덱스를 버린다.
+ */
+@Component
+public class ProjectIntervalCache {
+
+    private final ProjectRepository projectRepository;
+    private final Map<Long, IntervalTree<ProjectResponseDto>> trees;
+    // 불러오는 중인 유저 (불러오는 도중에 그 유저의 인덱스가 무효화되었다면 저장하지 않도록 유저별로 확인, 다 불러오면 제거)
+    private final Map<Long, Loading> loadings = new HashMap<>();
+
+    public ProjectIntervalCache(ProjectRepository projectRepository,
+                                @Value("${mmos.project.cache-size:1000}") int cacheSize) {
+        this.projectRepository = projectRepository;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, IntervalTree<ProjectResponseDto>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // [startDate, endDate] 와 기간이 겹치는 프로젝트 (시작일 순)
+    public List<ProjectResponseDto> findProjects(Long userIdx, LocalDate startDate, LocalDate endDate) {
+        return getTree(userIdx).findOverlaps(startDate, endDate);
+    }
+
+    public List<ProjectResponseDto> findProjects(Long userIdx, LocalDate date) {
+        return findProjects(userIdx, date, date);
+    }
+
+    // 지금 버리고, 트랜잭션 커밋 후에도 한 번 더 버린다 (커밋 전에 다시 조회된 인덱스 제거)
+    public void evict(Long userIdx) {
+        remove(userIdx);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(userIdx);
+                }
+            });
+        }
+    }
+
+    private IntervalTree<ProjectResponseDto> getTree(Long userIdx) {
+        Loading loading;
+        long loadGeneration;
+        synchronized (trees) {
+            IntervalTree<ProjectResponseDto> tree = trees.get(userIdx);
+            if (tree != null)
+                return tree;
+            loading = loadings.computeIfAbsent(userIdx, idx -> new Loading());
+            loading.loaders++;
+            loadGeneration = loading.generation;
+        }
+
+        IntervalTree<ProjectResponseDto> tree = null;
+        try {
+            tree = new IntervalTree<>(projectRepository.findProjects(userIdx),
+                    ProjectResponseDto::getProjectStartTime, ProjectResponseDto::getProjectEndTime);
+            return tree;
+        } finally {
+            synchronized (trees) {
+                // 불러오는 동안 이 유저의 프로젝트가 바뀌지 않았을 때만 저장
+                if (tree != null && loading.generation == loadGeneration)
+                    trees.put(userIdx, tree);
+                if (--loading.loaders == 0)
+                    loadings.remove(userIdx);
+            }
+        }
+    }
+
+    private void remove(Long userIdx) {
+        synchronized (trees) {
+            trees.remove(userIdx);
+            Loading loading = loadings.get(userIdx);
+            if (loading != null)
+                loading.generation++;
+        }
+    }
+
+    private static class Loading {
+
+        private int loaders;
+        private long generation;
+    }
+}
@@ -1,14 +1,16 @@
 package com.mmos.mmos.src.service;
 
+import com.mmos.mmos.config.HttpResponseStatus;
 import com.mmos.mmos.src.domain.dto.project.*;
 import com.mmos.mmos.src.domain.entity.*;
 import com.mmos.mmos.src.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Objects;
 
 import static com.mmos.mmos.config.HttpResponseStatus.*;
 
@@ -18,9 +20,11 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final CalendarRepository calendarRepository;
-    private final CalendarService calendarService;
+    private final PlannerResolver plannerResolver;
     private final PlanRepository planRepository;
     private final StudyRepository studyRepository;
+    private final ProjectIntervalCache projectIntervalCache;
+    private final DailyRecordService dailyRecordService;
 
     public User findUser(Long userIdx) {
         return userRepository.findById(userIdx)
@@ -42,6 +46,15 @@ public class ProjectService {
                 .orElse(null);
     }
 
+    // 프로젝트를 소유한 유저인지 확인 (유저의 모든 프로젝트를 불러오지 않음)
+    public HttpResponseStatus checkOwner(Long userIdx, Project project) {
+        if(project.getUser() != null && project.getUser().getUserIndex().equals(userIdx))
+            return null;
+        if(!userRepository.existsById(userIdx))
+            return EMPTY_USER;
+        return UPDATE_PROJECT_NOT_OWNER;
+    }
+
 
     @Transactional
     public ProjectResponseDto saveProject(Long userIdx, ProjectSaveRequestDto projectSaveRequestDto) {
@@ -55,11 +68,7 @@ public class ProjectService {
         LocalDate startTime = projectSaveRequestDto.getStartTime();
         LocalDate endTime = projectSaveRequestDto.getEndTime();
         for (LocalDate time = startTime; (time.getMonthValue() <= endTime.getMonthValue()) || (time.getYear() < endTime.getYear()); time = time.plusMonths(1)) {
-            Calendar calendar = findCalendar(userIdx, time.getYear(), time.getMonthValue());
-            System.out.println("calendar = " + calendar);
-            if (calendar == null) {
-                calendarService.saveCalendar(time.getYear(), time.getMonthValue(), userIdx);
-            }
+            plannerResolver.getCalendarIdx(userIdx, time.getYear(), time.getMonthValue());
         }
 
         // 프로젝트 생성
@@ -86,6 +95,7 @@ public class ProjectService {
 
         // User에 프로젝트 저장
         user.getUserProjects().add(project);
+        projectIntervalCache.evict(userIdx);
 
         return new ProjectResponseDto(projectRepository.save(project), SUCCESS);
     }
@@ -96,15 +106,23 @@ public class ProjectService {
         Project project = findProject(projectIdx);
         if(project == null)
             return new ProjectResponseDto(EMPTY_PROJECT);
-        User user = findUser(userIdx);
-        if(user == null)
-            return new ProjectResponseDto(EMPTY_USER);
-        if(!user.getUserProjects().contains(project)){
-            return new ProjectResponseDto(UPDATE_PROJECT_NOT_OWNER);
+        HttpResponseStatus ownerStatus = checkOwner(userIdx, project);
+        if(ownerStatus != null)
+            return new ProjectResponseDto(ownerStatus);
+
+        // 표시 중인 프로젝트라면 바뀐 기간으로 표시 수 이동 (바뀐 기간에 5개인 날이 있으면 롤백)
+        if(project.getProjectIsVisible()) {
+            if(dailyRecordService.isVisibleRangeTooLong(projectTimeUpdateDto.getNewStartTime(), projectTimeUpdateDto.getNewEndTime()))
+                return new ProjectResponseDto(UPDATE_PROJECT_LONG_VISIBLE);
+            dailyRecordService.removeVisibleNum(userIdx, project.getProjectStartTime(), project.getProjectEndTime());
+            if(!dailyRecordService.addVisibleNumIfNotFull(userIdx, projectTimeUpdateDto.getNewStartTime(), projectTimeUpdateDto.getNewEndTime())) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return new ProjectResponseDto(UPDATE_PROJECT_FULL_VISIBLE);
+            }
         }
-
         project.updateProjectStartTime(projectTimeUpdateDto.getNewStartTime());
         project.updateProjectEndTime(projectTimeUpdateDto.getNewEndTime());
+        projectIntervalCache.evict(userIdx);
 
         return new ProjectResponseDto(project, SUCCESS);
     }
@@ -114,14 +132,12 @@ public class ProjectService {
         Project project = findProject(projectIdx);
         if(project == null)
             return new ProjectResponseDto(EMPTY_PROJECT);
-        User user = findUser(userIdx);
-        if(user == null)
-            return new ProjectResponseDto(EMPTY_USER);
-        if(!user.getUserProjects().contains(project)){
-            return new ProjectResponseDto(UPDATE_PROJECT_NOT_OWNER);
-        }
+        HttpResponseStatus ownerStatus = checkOwner(userIdx, project);
+        if(ownerStatus != null)
+            return new ProjectResponseDto(ownerStatus);
 
         project.updateProjectName(projectNameUpdateDto.getNewName());
+        projectIntervalCache.evict(userIdx);
 
         return new ProjectResponseDto(project, SUCCESS);
     }
@@ -132,64 +148,43 @@ public class ProjectService {
         Project project = findProject(projectIdx);
         if(project == null)
             return new ProjectResponseDto(EMPTY_PROJECT);
-        User user = findUser(userIdx);
-        if(user == null)
-            return new ProjectResponseDto(EMPTY_USER);
-        if(!user.getUserProjects().contains(project)){
-            return new ProjectResponseDto(UPDATE_PROJECT_NOT_OWNER);
-        }
+        HttpResponseStatus ownerStatus = checkOwner(userIdx, project);
+        if(ownerStatus != null)
+            return new ProjectResponseDto(ownerStatus);
         project.updateProjectIsComplete(projectCompleteUpdateDto.getStatus());
+        projectIntervalCache.evict(userIdx);
 
         return new ProjectResponseDto(project, SUCCESS);
     }
     @Transactional
     public ProjectResponseDto updateProjectIsVisible(Long userIdx, Long projectIdx, ProjectStatusUpdateDto projectCompleteUpdateDto) {
+        Boolean isVisible = projectCompleteUpdateDto.getStatus();
+        if(isVisible == null)
+            return new ProjectResponseDto(UPDATE_PROJECT_EMPTY_STATUS);
         // 프로젝트를 소유한 유저인지 확인
         Project project = findProject(projectIdx);
         if(project == null)
             return new ProjectResponseDto(EMPTY_PROJECT);
-        User user = findUser(userIdx);
-        if(user == null)
-            return new ProjectResponseDto(EMPTY_USER);
-        if(!user.getUserProjects().contains(project)){
-            return new ProjectResponseDto(UPDATE_PROJECT_NOT_OWNER);
-        }
-        Calendar calendar = findCalendar(userIdx,project.getProjectStartTime().getYear(),project.getProjectStartTime().getMonthValue());
-        List<Planner> plannerList = calendar.getCalendarPlanners();
-        // 플래너 isVisble 5개 넘는지 체크
-        for (LocalDate date = project.getProjectStartTime(); date.isBefore(project.getProjectEndTime().plusDays(1)); date = date.plusDays(1)){
-            // 달 지나면 새로운 캘린더 가져오기
-            if(date.getMonthValue() != calendar.getCalendarMonth()) {
-                calendar = findCalendar(userIdx, date.getYear(), date.getMonthValue());
-                plannerList = calendar.getCalendarPlanners();
-            }
-
-            // 프로젝트 일정을 걸친 날들의 is visible == true 플랜 + 프로젝트 개수 세기
-            for (Planner planner : plannerList) {
-                if(planner.getPlannerDate().equals(date)){
-                    int count = 0;
-                    for (Plan plannerPlan : planner.getPlannerPlans()) {
-                        if(plannerPlan.getPlanIsVisible()){
-                            count++;
-                        }
-                        if(count >= 5)
-                            return new ProjectResponseDto(UPDATE_PROJECT_FULL_VISIBLE);
-                    }
-                    for (Project userProject : user.getUserProjects()) {
-                        if((userProject.getProjectStartTime().isBefore(date)||userProject.getProjectStartTime().isEqual(date)) && (userProject.getProjectEndTime().isAfter(date)||userProject.getProjectEndTime().isEqual(date))) {
-                            if (userProject.getProjectIsVisible()) {
-                                count++;
-                            }
-                            if(count >= 5)
-                                return new ProjectResponseDto(UPDATE_PROJECT_FULL_VISIBLE);
-                        }
-                    }
-                    break;
-                }
-            }
+        HttpResponseStatus ownerStatus = checkOwner(userIdx, project);
+        if(ownerStatus != null)
+            return new ProjectResponseDto(ownerStatus);
+        if(Objects.equals(isVisible, project.getProjectIsVisible()))
+            return new ProjectResponseDto(project, SUCCESS);
+
+        LocalDate startTime = project.getProjectStartTime();
+        LocalDate endTime = project.getProjectEndTime();
+        if(isVisible) {
+            if(dailyRecordService.isVisibleRangeTooLong(startTime, endTime))
+                return new ProjectResponseDto(UPDATE_PROJECT_LONG_VISIBLE);
+            // 프로젝트 기간 중 표시되는 계획 + 프로젝트가 5개인 날이 있으면 추가하지 않음 (일별 기록의 조건부 UPDATE 로 확인)
+            if(!dailyRecordService.addVisibleNumIfNotFull(userIdx, startTime, endTime))
+                return new ProjectResponseDto(UPDATE_PROJECT_FULL_VISIBLE);
+        } else {
+            dailyRecordService.removeVisibleNum(userIdx, startTime, endTime);
         }
 
-        project.updateProjectIsVisible(projectCompleteUpdateDto.getStatus());
+        project.updateProjectIsVisible(isVisible);
+        projectIntervalCache.evict(userIdx);
         return new ProjectResponseDto(project, SUCCESS);
     }
     @Transactional
@@ -198,14 +193,16 @@ public class ProjectService {
         Project project = findProject(projectIdx);
         if(project == null)
             return -3L;
-        User user = findUser(userIdx);
-        if(user == null)
+        HttpResponseStatus ownerStatus = checkOwner(userIdx, project);
+        if(ownerStatus == EMPTY_USER)
             return -1L;
-        if(!user.getUserProjects().contains(project)){
+        if(ownerStatus != null)
             return -2L;
-        }
 
+        if(project.getProjectIsVisible())
+            dailyRecordService.removeVisibleNum(userIdx, project.getProjectStartTime(), project.getProjectEndTime());
         projectRepository.delete(project);
+        projectIntervalCache.evict(userIdx);
 
         return projectIdx;
     }
@@ -0,0 +1,56 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 매일 밤 전체 유저의 어제 스트릭을 계산
+ * 유저 인덱스 순으로 chunk 단위로 나누어, chunk 마다 한 트랜잭션에서 저장한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreakScheduler {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final StreakService streakService;
+    private final StudyTimeAggregator studyTimeAggregator;
+
+    @Scheduled(cron = "${mmos.streak.cron:0 10 0 * * *}")
+    public void saveStreaks() {
+        LocalDate beforeDay = LocalDate.now().minusDays(1);
+        // 반영 대기 중인 공부시간까지 일별 기록에 반영된 후 계산
+        studyTimeAggregator.flush();
+
+        long saved = 0;
+        Long lastIdx = 0L;
+        while (true) {
+            List<Long> userIdxs = userRepository.findUserIdxs(lastIdx, PageRequest.of(0, CHUNK_SIZE));
+            if (userIdxs.isEmpty())
+                break;
+
+            saved += saveChunk(userIdxs, beforeDay);
+            lastIdx = userIdxs.get(userIdxs.size() - 1);
+        }
+        log.info(beforeDay + " 스트릭 저장 : " + saved);
+    }
+
+    // 조회 요청이 같은 유저의 기록을 먼저 만들어 chunk 가 롤백된 경우 한 번 더 계산 (이미 계산된 유저는 건너뜀)
+    private int saveChunk(List<Long> userIdxs, LocalDate date) {
+        try {
+            return streakService.saveStreaks(userIdxs, date);
+        } catch (DataIntegrityViolationException e) {
+            return streakService.saveStreaks(userIdxs, date);
+        }
+    }
+}
@@ -1,117 +1,200 @@
 package com.mmos.mmos.src.service;
 
+import com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordDto;
+import com.mmos.mmos.src.domain.dto.streak.StreakDto;
 import com.mmos.mmos.src.domain.dto.streak.StreakResponseDto;
-import com.mmos.mmos.src.domain.entity.Calendar;
-import com.mmos.mmos.src.domain.entity.Planner;
-import com.mmos.mmos.src.domain.entity.Streak;
-import com.mmos.mmos.src.domain.entity.User;
+import com.mmos.mmos.src.domain.entity.StreakHistory;
+import com.mmos.mmos.src.repository.DailyRecordRepository;
+import com.mmos.mmos.src.repository.StreakHistoryRepository;
 import com.mmos.mmos.src.repository.StreakRepository;
 import com.mmos.mmos.src.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
-import static com.mmos.mmos.config.HttpResponseStatus.ALREADY_EXIST_STREAK;
+import static com.mmos.mmos.config.HttpResponseStatus.EMPTY_USER;
 
+/**
+ * 스트릭 계산
+ * 유저마다 StreakHistory 를 잠그고 마지막 계산 날짜를 확인하므로 같은 날짜를 두 번 계산하지 않는다.
+ * 기록이 없던 유저는 기록 insert 가 성공한 트랜잭션에서만 현재 스트릭이 늘어난다. (동시에 만들면 유저 인덱스 PK 충돌로 롤백)
+ */
 @Service
-@RequiredArgsConstructor
 public class StreakService {
     private final StreakRepository streakRepository;
+    private final StreakHistoryRepository streakHistoryRepository;
     private final UserRepository userRepository;
-
-    public User findUserByIdx(Long userIdx) {
-        return userRepository.findById(userIdx)
-                .orElse(null);
+    private final DailyRecordRepository dailyRecordRepository;
+    private final StudyTimeAggregator studyTimeAggregator;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    public StreakService(StreakRepository streakRepository, StreakHistoryRepository streakHistoryRepository,
+                         UserRepository userRepository, DailyRecordRepository dailyRecordRepository,
+                         StudyTimeAggregator studyTimeAggregator, PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate) {
+        this.streakRepository = streakRepository;
+        this.streakHistoryRepository = streakHistoryRepository;
+        this.userRepository = userRepository;
+        this.dailyRecordRepository = dailyRecordRepository;
+        this.studyTimeAggregator = studyTimeAggregator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
     }
 
-    public List<Streak> findStreaks60Days(User user) {
-        return streakRepository.findTop60ByUserOrderByStreakIndexDesc(user)
+    public StreakHistory findStreakHistoryByUserIdx(Long userIdx) {
+        return streakHistoryRepository.findById(userIdx)
                 .orElse(null);
     }
 
-    public void updateTopStreak(User user) {
-        if(user.getUserTopStreak() < user.getUserCurrentStreak())
-            user.updateTopStreak(user.getUserCurrentStreak());
-    }
-
-    @Transactional
+    // 어제 스트릭 조회 (매일 밤 일괄 계산되며, 아직 계산되지 않은 유저만 여기서 계산)
     public StreakResponseDto saveStreak(Long userIdx) {
-        User user = findUserByIdx(userIdx);
         LocalDate beforeDay = LocalDate.now().minusDays(1);
 
-        for (Streak streak : user.getStreaks()) {
-            if(streak.getStreakDate().equals(beforeDay))
-                return new StreakResponseDto(ALREADY_EXIST_STREAK);
+        LocalDate lastDate = streakHistoryRepository.findLastDate(userIdx).orElse(null);
+        if(lastDate == null || lastDate.isBefore(beforeDay)) {
+            if(!userRepository.existsById(userIdx))
+                return new StreakResponseDto(EMPTY_USER);
+            // 한 번 계산하면 다시 계산하지 않으므로 반영 대기 중인 공부시간까지 일별 기록에 반영된 후 계산
+            studyTimeAggregator.flush();
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveStreaks(List.of(userIdx), beforeDay));
+            } catch (DataIntegrityViolationException e) {
+                // 일괄 계산이나 다른 요청이 먼저 기록을 만든 경우 (그쪽에서 계산됨)
+            }
         }
 
-        Planner planner = null;
-        for (Calendar userCalendar : user.getUserCalendars()) {
-            boolean flag = false;
-            if(userCalendar.getCalendarYear().equals(beforeDay.getYear()) && userCalendar.getCalendarMonth().equals(beforeDay.getMonthValue())) {
-                for (Planner calendarPlanner : userCalendar.getCalendarPlanners()) {
-                    if(calendarPlanner.getPlannerDate().equals(beforeDay)) {
-                        planner = calendarPlanner;
-                        flag = true;
-                        break;
-                    }
-                }
-            }
+        StreakHistory streakHistory = findStreakHistoryByUserIdx(userIdx);
+        return new StreakResponseDto(beforeDay, streakHistory == null ? 0 : streakHistory.getLevel(beforeDay));
+    }
 
-            if(flag)
-                break;
+    // 여러 유저의 해당 날짜 스트릭을 한 번에 계산 (이미 계산된 유저는 건너뜀)
+    @Transactional
+    public int saveStreaks(List<Long> userIdxs, LocalDate date) {
+        Map<Long, StreakHistory> streakHistories = new HashMap<>();
+        for (StreakHistory streakHistory : streakHistoryRepository.findAllForUpdate(userIdxs))
+            streakHistories.put(streakHistory.getUserIndex(), streakHistory);
+
+        // 기록이 없는 유저는 기존에 하루 한 줄씩 저장된 스트릭을 옮겨서 생성
+        List<Long> newIdxs = new ArrayList<>();
+        for (Long userIdx : userIdxs)
+            if(!streakHistories.containsKey(userIdx))
+                newIdxs.add(userIdx);
+        List<StreakHistory> newHistories = new ArrayList<>();
+        if(!newIdxs.isEmpty()) {
+            Map<Long, List<StreakDto>> oldStreaks = new HashMap<>();
+            for (StreakDto streak : streakRepository.findStreaks(newIdxs))
+                oldStreaks.computeIfAbsent(streak.getUserIdx(), idx -> new ArrayList<>()).add(streak);
+
+            for (Long userIdx : newIdxs) {
+                List<StreakDto> streaks = oldStreaks.getOrDefault(userIdx, Collections.emptyList());
+                int startYear = date.getYear();
+                for (StreakDto streak : streaks)
+                    startYear = Math.min(startYear, streak.getDate().getYear());
+
+                StreakHistory streakHistory = new StreakHistory(userIdx, startYear);
+                for (StreakDto streak : streaks)
+                    streakHistory.updateLevel(streak.getDate(), streak.getLevel());
+                streakHistories.put(userIdx, streakHistory);
+                newHistories.add(streakHistory);
+            }
         }
 
-
-        if(planner == null) {
-            user.resetCurrentStreak();
-            Streak streak = streakRepository.save(new Streak(0, beforeDay, user));
-            user.addStreak(streak);
-            return new StreakResponseDto(streak);
+        // 이미 계산된 유저 제외
+        List<Long> targetIdxs = new ArrayList<>();
+        for (Long userIdx : userIdxs)
+            if(!streakHistories.get(userIdx).isEvaluated(date))
+                targetIdxs.add(userIdx);
+
+        // 그 날 공부시간은 일별 기록에서 조회
+        Map<Long, Long> studyTimes = new HashMap<>();
+        if(!targetIdxs.isEmpty()) {
+            for (DailyRecordDto dailyRecord : dailyRecordRepository.findRecords(targetIdxs, date))
+                studyTimes.put(dailyRecord.getUserIdx(), dailyRecord.getStudyTime());
         }
-        else {
-            if(planner.getPlannerDailyStudyTime() >= 5 * 60) {
-                user.plusCurrentStreak();
-                updateTopStreak(user);
-                Streak streak = streakRepository.save(new Streak(3, beforeDay, user));
-                user.addStreak(streak);
-                return new StreakResponseDto(streak);
-            }
-            else if(planner.getPlannerDailyStudyTime() >= 3 * 60) {
-                user.plusCurrentStreak();
-                updateTopStreak(user);
-                Streak streak = streakRepository.save(new Streak(2, beforeDay, user));
-                user.addStreak(streak);
-                return new StreakResponseDto(streak);
-            }
-            else if(planner.getPlannerDailyStudyTime() >= 60) {
-                user.plusCurrentStreak();
-                updateTopStreak(user);
-                Streak streak = streakRepository.save(new Streak(1, beforeDay, user));
-                user.addStreak(streak);
-                return new StreakResponseDto(streak);
-            }
-            else {
-                user.resetCurrentStreak();
-                Streak streak = streakRepository.save(new Streak(0, beforeDay, user));
-                user.addStreak(streak);
-                return new StreakResponseDto(streak);
-            }
+
+        List<Long> continuedIdxs = new ArrayList<>();
+        List<Long> brokenIdxs = new ArrayList<>();
+        for (Long userIdx : targetIdxs) {
+            int level = getStreakLevel(studyTimes.getOrDefault(userIdx, 0L));
+            streakHistories.get(userIdx).updateLevel(date, level);
+            if(level > 0)
+                continuedIdxs.add(userIdx);
+            else
+                brokenIdxs.add(userIdx);
         }
+
+        // 새 기록을 먼저 저장해서 동시에 만든 경우 현재 스트릭을 바꾸기 전에 실패하도록 함
+        insertHistories(newHistories);
+        if(!continuedIdxs.isEmpty())
+            userRepository.plusCurrentStreak(continuedIdxs);
+        if(!brokenIdxs.isEmpty())
+            userRepository.resetCurrentStreak(brokenIdxs);
+
+        return targetIdxs.size();
     }
 
-    @Transactional
+    // 새 기록은 JDBC batch 로 한 번에 insert (유저 인덱스를 직접 지정하므로 save 시 유저마다 조회하는 merge 를 피함)
+    private void insertHistories(List<StreakHistory> streakHistories) {
+        if(streakHistories.isEmpty())
+            return;
+        jdbcTemplate.batchUpdate("insert into streak_history (user_index, streakhistory_start_year, streakhistory_last_date, streakhistory_levels) values (?, ?, ?, ?)",
+                streakHistories, streakHistories.size(), (ps, streakHistory) -> {
+                    ps.setLong(1, streakHistory.getUserIndex());
+                    ps.setInt(2, streakHistory.getStreakhistoryStartYear());
+                    ps.setObject(3, streakHistory.getStreakhistoryLastDate());
+                    ps.setBytes(4, streakHistory.getStreakhistoryLevels());
+                });
+    }
+
+    // 5시간 이상 3단계, 3시간 이상 2단계, 1시간 이상 1단계
+    private int getStreakLevel(Long studyTime) {
+        if(studyTime >= 5 * 60)
+            return 3;
+        else if(studyTime >= 3 * 60)
+            return 2;
+        else if(studyTime >= 60)
+            return 1;
+        return 0;
+    }
+
+    // 최근 60일 스트릭 (최신순)
+    @Transactional(readOnly = true)
     public List<StreakResponseDto> getStreaks(Long userIdx) {
-        User user = findUserByIdx(userIdx);
-        List<StreakResponseDto> responseDtoList = new ArrayList<>();
-        List<Streak> streakList = findStreaks60Days(user);
+        StreakHistory streakHistory = findStreakHistoryByUserIdx(userIdx);
+        if(streakHistory == null || streakHistory.getStreakhistoryLastDate() == null)
+            return new ArrayList<>();
 
-        for (Streak streak : streakList) {
-            responseDtoList.add(new StreakResponseDto(streak));
-        }
+        LocalDate lastDate = streakHistory.getStreakhistoryLastDate();
+        return getStreaks(streakHistory, lastDate.minusDays(59), lastDate);
+    }
+
+    // 1년 스트릭 (최신순)
+    @Transactional(readOnly = true)
+    public List<StreakResponseDto> getYearStreaks(Long userIdx, Integer year) {
+        StreakHistory streakHistory = findStreakHistoryByUserIdx(userIdx);
+        if(streakHistory == null || streakHistory.getStreakhistoryLastDate() == null)
+            return new ArrayList<>();
+
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+        if(endDate.isAfter(streakHistory.getStreakhistoryLastDate()))
+            endDate = streakHistory.getStreakhistoryLastDate();
+        return getStreaks(streakHistory, LocalDate.of(year, 1, 1), endDate);
+    }
+
+    private List<StreakResponseDto> getStreaks(StreakHistory streakHistory, LocalDate startDate, LocalDate endDate) {
+        LocalDate firstDate = LocalDate.of(streakHistory.getStreakhistoryStartYear(), 1, 1);
+        if(startDate.isBefore(firstDate))
+            startDate = firstDate;
+
+        List<StreakResponseDto> responseDtoList = new ArrayList<>();
+        for (LocalDate date = endDate; !date.isBefore(startDate); date = date.minusDays(1))
+            responseDtoList.add(new StreakResponseDto(date, streakHistory.getLevel(date)));
 
         return responseDtoList;
     }
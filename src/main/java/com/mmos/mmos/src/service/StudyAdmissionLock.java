@@ -0,0 +1,46 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.utils.StripedLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 스터디 가입 처리 잠금
+ * 인원 수 증가는 조건부 UPDATE 로 DB 에서 보장하고, 이 잠금은 같은 스터디의 가입 요청을 서버 안에서 줄 세워
+ * 인기 스터디에 요청이 몰릴 때 DB 행 잠금 대기와 중복 가입 시도를 줄인다.
+ * 트랜잭션이 끝날 때까지 잡고 있으므로 트랜잭션에서 아무것도 수정하기 전에 호출해야 한다.
+ */
+@Component
+public class StudyAdmissionLock {
+
+    private final StripedLock locks;
+    private final long timeoutMillis;
+
+    public StudyAdmissionLock(@Value("${mmos.study.admission.lock-stripes:64}") int stripes,
+                              @Value("${mmos.study.admission.lock-timeout:3000}") long timeoutMillis) {
+        this.locks = new StripedLock(stripes);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // 잠그지 못하면 false. 현재 트랜잭션이 끝나면 풀림
+    public boolean lock(Long studyIdx) {
+        ReentrantLock lock = locks.tryLock(studyIdx, timeoutMillis);
+        if (lock == null)
+            return false;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.study.StudyMaintenanceResponseDto;
+import com.mmos.mmos.src.repository.StudyRepository;
+import com.mmos.mmos.src.repository.StudyWeeklyTimeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 스터디 일괄 정리
+ * 스터디원 수 재계산, 보관 기간이 지난 주간 공부시간 삭제를 id 순으로 나눈 UPDATE/DELETE 로 실행한다.
+ * 주간 공부시간 삭제는 기록이 사라지므로 mmos.study.weekly-time.retention-weeks 를 지정한 경우에만 한다. (기본값 0 = 삭제하지 않음)
+ * 엔티티를 불러오지 않고 한 번에 한 묶음의 id 만 메모리에 두며, 묶음마다 별도 트랜잭션으로 커밋한다.
+ */
+@Slf4j
+@Component
+public class StudyMaintenance {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final StudyRepository studyRepository;
+    private final StudyWeeklyTimeRepository studyWeeklyTimeRepository;
+    private final StudyRanking studyRanking;
+    private final FeedCache feedCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionWeeks;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "study-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile StudyMaintenanceResponseDto progress = new StudyMaintenanceResponseDto(false, null, 0L, 0L, null, null, false);
+
+    public StudyMaintenance(StudyRepository studyRepository, StudyWeeklyTimeRepository studyWeeklyTimeRepository,
+                            StudyRanking studyRanking, FeedCache feedCache, PlatformTransactionManager transactionManager,
+                            @Value("${mmos.study.weekly-time.retention-weeks:0}") int retentionWeeks) {
+        this.studyRepository = studyRepository;
+        this.studyWeeklyTimeRepository = studyWeeklyTimeRepository;
+        this.studyRanking = studyRanking;
+        this.feedCache = feedCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionWeeks = retentionWeeks;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public StudyMaintenanceResponseDto getProgress() {
+        return progress;
+    }
+
+    // 백그라운드에서 시작 (이미 실행 중이면 현재 진행 상황 반환)
+    public synchronized StudyMaintenanceResponseDto start() {
+        if (progress.getIsRunning())
+            return progress;
+        progress = new StudyMaintenanceResponseDto(true, null, 0L, 0L, LocalDateTime.now(), null, false);
+        executor.execute(this::run);
+        return progress;
+    }
+
+    @Scheduled(cron = "${mmos.study.maintenance-cron:0 30 4 * * *}")
+    public void startScheduled() {
+        start();
+    }
+
+    private void run() {
+        LocalDateTime startedAt = progress.getStartedAt();
+        boolean isFailed = false;
+        try {
+            recountMemberNums(startedAt);
+            feedCache.invalidateStudiesAfterCommit();
+            deleteExpiredWeeklyTimes(startedAt);
+            studyRanking.reload();
+        } catch (RuntimeException e) {
+            isFailed = true;
+            log.error("스터디 일괄 정리 실패 : " + progress.getStep(), e);
+        }
+        progress = new StudyMaintenanceResponseDto(false, progress.getStep(), progress.getProcessedNum(), progress.getTotalNum(),
+                startedAt, LocalDateTime.now(), isFailed);
+        log.info("스터디 일괄 정리 " + (isFailed ? "실패" : "완료") + " : " + progress.getStep() + " " + progress.getProcessedNum() + "/" + progress.getTotalNum());
+    }
+
+    private void recountMemberNums(LocalDateTime startedAt) {
+        long total = studyRepository.count();
+        long processed = 0;
+        updateProgress("MEMBER_NUM", processed, total, startedAt);
+
+        Long lastIdx = 0L;
+        while (true) {
+            List<Long> studyIdxs = studyRepository.findStudyIdxs(lastIdx, PageRequest.of(0, CHUNK_SIZE));
+            if (studyIdxs.isEmpty())
+                break;
+
+            Long startIdx = studyIdxs.get(0);
+            Long endIdx = studyIdxs.get(studyIdxs.size() - 1);
+            transactionTemplate.executeWithoutResult(status -> studyRepository.recountMemberNum(startIdx, endIdx));
+            processed += studyIdxs.size();
+            updateProgress("MEMBER_NUM", processed, Math.max(total, processed), startedAt);
+            lastIdx = endIdx;
+        }
+    }
+
+    private void deleteExpiredWeeklyTimes(LocalDateTime startedAt) {
+        if (retentionWeeks <= 0)
+            return;
+        LocalDate week = StudyWeeklyTimeService.currentWeek().minusWeeks(retentionWeeks);
+        long total = studyWeeklyTimeRepository.countExpired(week);
+        long processed = 0;
+        updateProgress("WEEKLY_TIME", processed, total, startedAt);
+
+        Long lastIdx = 0L;
+        while (true) {
+            List<Long> idxs = studyWeeklyTimeRepository.findExpiredIdxs(week, lastIdx, PageRequest.of(0, CHUNK_SIZE));
+            if (idxs.isEmpty())
+                break;
+
+            transactionTemplate.executeWithoutResult(status -> studyWeeklyTimeRepository.deleteByIdxs(idxs));
+            processed += idxs.size();
+            updateProgress("WEEKLY_TIME", processed, Math.max(total, processed), startedAt);
+            lastIdx = idxs.get(idxs.size() - 1);
+        }
+    }
+
+    private void updateProgress(String step, long processed, long total, LocalDateTime startedAt) {
+        progress = new StudyMaintenanceResponseDto(true, step, processed, total, startedAt, null, false);
+    }
+}
@@ -0,0 +1,260 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.config.HttpResponseStatus;
+import com.mmos.mmos.src.domain.dto.presence.StudyPresenceDto;
+import com.mmos.mmos.src.domain.dto.presence.StudyPresenceEventDto;
+import com.mmos.mmos.src.domain.dto.studytime.ActiveStudyTimeDto;
+import com.mmos.mmos.src.domain.dto.userstudy.UserStudyIdxDto;
+import com.mmos.mmos.src.repository.StudyRepository;
+import com.mmos.mmos.src.repository.UserStudyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.mmos.mmos.config.HttpResponseStatus.EMPTY_STUDY;
+import static com.mmos.mmos.config.HttpResponseStatus.USERSTUDY_NOT_EXIST_USERSTUDY;
+
+/**
+ * 스터디별 "지금 공부 중" 목록과 실시간 알림 (Server-Sent Events)
+ * 진행 중인 공부시간 목록(StudyTimeRegistry)이 바뀌면 유저가 속한 스터디의 목록을 갱신하고 구독자에게 변경분만 보낸다.
+ * 전송은 별도 스레드에서 하고, 구독자마다 대기열 크기를 제한해서 느린 구독자는 연결을 끊는다. (다시 연결하면 전체 목록부터 받음)
+ * 공부시간 인덱스로 세션을 구분해서, 시작 알림이 종료 알림보다 늦게 처리되어도 이미 끝난 세션은 다시 추가하지 않는다.
+ */
+@Slf4j
+@Component
+public class StudyPresence {
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    private final UserStudyRepository userStudyRepository;
+    private final StudyRepository studyRepository;
+    private final long timeoutMillis;
+    private final int queueSize;
+    private final ExecutorService executor;
+
+    // 유저 -> 진행 중인 세션 (공부시간 인덱스, 공부 시작 시 속해 있던 스터디)
+    private final Map<Long, Session> sessions = new HashMap<>();
+    // 유저 -> 마지막으로 종료된 공부시간 인덱스 (그 이하의 시작 알림은 무시)
+    private final Map<Long, Long> endedStudytimeIdxs = new HashMap<>();
+    // 스터디 -> (유저 -> 공부 중 정보)
+    private final Map<Long, Map<Long, StudyPresenceDto>> studyPresences = new HashMap<>();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public StudyPresence(UserStudyRepository userStudyRepository, StudyRepository studyRepository,
+                         @Value("${mmos.presence.timeout:1800000}") long timeoutMillis,
+                         @Value("${mmos.presence.queue-size:100}") int queueSize,
+                         @Value("${mmos.presence.threads:2}") int threads) {
+        this.userStudyRepository = userStudyRepository;
+        this.studyRepository = studyRepository;
+        this.timeoutMillis = timeoutMillis;
+        this.queueSize = queueSize;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "study-presence");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(studySubscribers -> new ArrayList<>(studySubscribers).forEach(Subscriber::close));
+        executor.shutdownNow();
+    }
+
+    // 구독 시작 시 현재 목록(snapshot)을 먼저 보내고, 이후 변경분(presence)을 보냄 (스터디 멤버만 구독 가능)
+    public SseEmitter subscribe(Long userIdx, Long studyIdx) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        if (!studyRepository.existsById(studyIdx))
+            return reject(emitter, EMPTY_STUDY);
+        if (!userStudyRepository.existsByStudy_StudyIndexAndUser_UserIndexAndUserstudyMemberStatusLessThanEqual(studyIdx, userIdx, 3))
+            return reject(emitter, USERSTUDY_NOT_EXIST_USERSTUDY);
+
+        Subscriber subscriber = new Subscriber(studyIdx, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        synchronized (this) {
+            subscribers.computeIfAbsent(studyIdx, idx -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            List<StudyPresenceDto> snapshot = new ArrayList<>(studyPresences.getOrDefault(studyIdx, Collections.emptyMap()).values());
+            subscriber.offer(SseEmitter.event().name("snapshot").data(snapshot));
+        }
+        return emitter;
+    }
+
+    // 스터디 조회는 잠그지 않고 하므로, 그 사이 종료된 세션이거나 더 최근 세션이 있으면 추가하지 않음
+    public void start(Long userIdx, Long studytimeIdx, Timestamp startTime) {
+        Set<Long> studyIdxs = new HashSet<>();
+        for (UserStudyIdxDto userStudy : userStudyRepository.findMemberStudyIdxs(List.of(userIdx)))
+            studyIdxs.add(userStudy.getStudyIdx());
+        synchronized (this) {
+            Long endedStudytimeIdx = endedStudytimeIdxs.get(userIdx);
+            if (endedStudytimeIdx != null && endedStudytimeIdx >= studytimeIdx)
+                return;
+            Session session = sessions.get(userIdx);
+            if (session != null && session.studytimeIdx >= studytimeIdx)
+                return;
+            add(userIdx, studytimeIdx, startTime, studyIdxs);
+        }
+    }
+
+    // 더 최근 세션은 남겨 둠
+    public synchronized void end(Long userIdx, Long studytimeIdx) {
+        endedStudytimeIdxs.merge(userIdx, studytimeIdx, Math::max);
+        Session session = sessions.get(userIdx);
+        if (session == null || session.studytimeIdx > studytimeIdx)
+            return;
+        remove(userIdx);
+    }
+
+    private void remove(Long userIdx) {
+        Session session = sessions.remove(userIdx);
+        if (session == null)
+            return;
+        StudyPresenceEventDto event = new StudyPresenceEventDto("END", userIdx, null);
+        for (Long studyIdx : session.studyIdxs) {
+            Map<Long, StudyPresenceDto> presences = studyPresences.get(studyIdx);
+            if (presences == null)
+                continue;
+            presences.remove(userIdx);
+            if (presences.isEmpty())
+                studyPresences.remove(studyIdx);
+            publish(studyIdx, event);
+        }
+    }
+
+    // 진행 중인 공부시간 목록으로 다시 채움 (서버 시작 시)
+    public void rebuild(Collection<ActiveStudyTimeDto> activeStudyTimes) {
+        Map<Long, ActiveStudyTimeDto> userStudyTimes = new HashMap<>();
+        activeStudyTimes.forEach(activeStudyTime -> userStudyTimes.put(activeStudyTime.getUserIdx(), activeStudyTime));
+
+        Map<Long, Set<Long>> studyIdxs = new HashMap<>();
+        List<Long> userIdxs = new ArrayList<>(userStudyTimes.keySet());
+        for (int i = 0; i < userIdxs.size(); i += IN_CLAUSE_SIZE) {
+            for (UserStudyIdxDto userStudy : userStudyRepository.findMemberStudyIdxs(userIdxs.subList(i, Math.min(i + IN_CLAUSE_SIZE, userIdxs.size()))))
+                studyIdxs.computeIfAbsent(userStudy.getUserIdx(), idx -> new HashSet<>()).add(userStudy.getStudyIdx());
+        }
+
+        synchronized (this) {
+            new ArrayList<>(sessions.keySet()).forEach(this::remove);
+            endedStudytimeIdxs.clear();
+            userStudyTimes.forEach((userIdx, activeStudyTime) -> add(userIdx, activeStudyTime.getStudytimeIdx(), activeStudyTime.getStartTime(),
+                    studyIdxs.getOrDefault(userIdx, Collections.emptySet())));
+        }
+    }
+
+    // 연결이 끊긴 구독자를 찾고 프록시가 연결을 닫지 않도록 주기적으로 보냄
+    @Scheduled(fixedDelayString = "${mmos.presence.heartbeat-interval:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(studySubscribers ->
+                studySubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void add(Long userIdx, Long studytimeIdx, Timestamp startTime, Set<Long> studyIdxs) {
+        remove(userIdx);
+        endedStudytimeIdxs.remove(userIdx);
+        sessions.put(userIdx, new Session(studytimeIdx, studyIdxs));
+        StudyPresenceDto presence = new StudyPresenceDto(userIdx, startTime);
+        StudyPresenceEventDto event = new StudyPresenceEventDto("START", userIdx, startTime);
+        for (Long studyIdx : studyIdxs) {
+            studyPresences.computeIfAbsent(studyIdx, idx -> new HashMap<>()).put(userIdx, presence);
+            publish(studyIdx, event);
+        }
+    }
+
+    private SseEmitter reject(SseEmitter emitter, HttpResponseStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(status.getMessage()));
+        } catch (IOException ignored) {
+        }
+        emitter.complete();
+        return emitter;
+    }
+
+    private void publish(Long studyIdx, StudyPresenceEventDto event) {
+        Set<Subscriber> studySubscribers = subscribers.get(studyIdx);
+        if (studySubscribers == null)
+            return;
+        studySubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().name("presence").data(event)));
+    }
+
+    private record Session(Long studytimeIdx, Set<Long> studyIdxs) {
+    }
+
+    private class Subscriber {
+
+        private final Long studyIdx;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long studyIdx, SseEmitter emitter) {
+            this.studyIdx = studyIdx;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        // 대기열이 가득 찼다면 따라오지 못하는 구독자이므로 연결을 끊음
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get())
+                return;
+            if (!queue.offer(event)) {
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true))
+                return;
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null)
+                    emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty())
+                schedule();
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true))
+                return;
+            queue.clear();
+            synchronized (StudyPresence.this) {
+                Set<Subscriber> studySubscribers = subscribers.get(studyIdx);
+                if (studySubscribers != null) {
+                    studySubscribers.remove(this);
+                    if (studySubscribers.isEmpty())
+                        subscribers.remove(studyIdx);
+                }
+            }
+            try {
+                emitter.complete();
+            } catch (RuntimeException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.study.StudyRankDto;
+import com.mmos.mmos.src.domain.dto.study.StudyResponseDto;
+import com.mmos.mmos.src.domain.dto.study.StudyWeeklyTimeDto;
+import com.mmos.mmos.src.repository.StudyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * 인원 수, 이번 주 평균 공부시간 스터디 랭킹
+ * 진행 중이고 공개된 스터디를 정렬된 상태로 메모리에 유지해서 DB 조회 없이 상위 K 개를 반환한다.
+ * 인원 변경, 공부시간 반영 시 커밋 후 해당 스터디만 다시 읽어 갱신하고, 주기적으로 전체를 다시 맞춘다.
+ * 같은 스터디를 동시에 다시 읽으면 마지막에 시작한 결과만 반영한다. (먼저 읽은 결과가 늦게 끝나 덮어쓰지 않도록)
+ */
+@Slf4j
+@Component
+public class StudyRanking {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final Comparator<StudyRankDto> BY_MEMBER_NUM = Comparator
+            .comparing(StudyRankDto::getMemberNum, Comparator.reverseOrder())
+            .thenComparing(StudyRankDto::getStudyIdx, Comparator.reverseOrder());
+    private static final Comparator<StudyRankDto> BY_AVERAGE_STUDY_TIME = Comparator
+            .comparingDouble(StudyRankDto::getAverageStudyTime).reversed()
+            .thenComparing(StudyRankDto::getStudyIdx, Comparator.reverseOrder());
+
+    private final StudyRepository studyRepository;
+    private final StudyWeeklyTimeService studyWeeklyTimeService;
+    private final int rankSize;
+
+    private final Map<Long, StudyRankDto> studies = new HashMap<>();
+    private final TreeSet<StudyRankDto> byMemberNum = new TreeSet<>(BY_MEMBER_NUM);
+    private final TreeSet<StudyRankDto> byAverageStudyTime = new TreeSet<>(BY_AVERAGE_STUDY_TIME);
+    // 전체를 다시 읽는 동안 갱신된 스터디. 다시 읽은 결과로 교체한 후 한 번 더 갱신한다.
+    private Set<Long> reloadingIdxs = null;
+    // 스터디별 마지막으로 시작한 갱신 번호 (반영하거나 실패하면 제거)
+    private final Map<Long, Long> refreshVersions = new HashMap<>();
+    private long refreshSequence = 0;
+
+    public StudyRanking(StudyRepository studyRepository, StudyWeeklyTimeService studyWeeklyTimeService,
+                        @Value("${mmos.study.rank.size:3}") int rankSize) {
+        this.studyRepository = studyRepository;
+        this.studyWeeklyTimeService = studyWeeklyTimeService;
+        this.rankSize = rankSize;
+    }
+
+    // 인원이 가장 많은 스터디
+    public synchronized List<StudyResponseDto> getPopularStudies() {
+        List<StudyResponseDto> responseDtoList = new ArrayList<>();
+        for (StudyRankDto study : byMemberNum) {
+            if (responseDtoList.size() >= rankSize)
+                break;
+            responseDtoList.add(study.toResponseDto());
+        }
+        return responseDtoList;
+    }
+
+    // 이번 주 평균 공부시간이 가장 많은 스터디 (공부시간이 없는 스터디 제외)
+    public synchronized List<StudyResponseDto> getHardestStudies() {
+        List<StudyResponseDto> responseDtoList = new ArrayList<>();
+        for (StudyRankDto study : byAverageStudyTime) {
+            if (responseDtoList.size() >= rankSize || study.getContributorNum() == 0)
+                break;
+            responseDtoList.add(study.toResponseDto());
+        }
+        return responseDtoList;
+    }
+
+    // 이번 주 평균 공부시간순 스터디 둘러보기 (진행 중이고 공개된 스터디만)
+    public synchronized Page<StudyResponseDto> getStudiesByAverageStudyTime(boolean onlyHasSeat, Pageable pageable) {
+        List<StudyResponseDto> responseDtoList = new ArrayList<>();
+        long total = 0;
+        for (StudyRankDto study : byAverageStudyTime) {
+            if (onlyHasSeat && study.getMemberNum() >= study.getMemberLimit())
+                continue;
+            if (total >= pageable.getOffset() && responseDtoList.size() < pageable.getPageSize())
+                responseDtoList.add(study.toResponseDto());
+            total++;
+            // 좌석 필터가 없으면 전체 개수는 바로 알 수 있음
+            if (!onlyHasSeat && responseDtoList.size() >= pageable.getPageSize()) {
+                total = byAverageStudyTime.size();
+                break;
+            }
+        }
+        return new PageImpl<>(responseDtoList, pageable, total);
+    }
+
+    // 현재 트랜잭션이 커밋된 후 해당 스터디를 다시 읽어 반영
+    public void refreshAfterCommit(Long studyIdx) {
+        refreshAfterCommit(List.of(studyIdx));
+    }
+
+    public void refreshAfterCommit(Collection<Long> studyIdxs) {
+        if (studyIdxs.isEmpty())
+            return;
+        Set<Long> idxs = new HashSet<>(studyIdxs);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(idxs);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(idxs);
+            }
+        });
+    }
+
+    // 주가 바뀌면 새 주의 공부시간으로 다시 계산
+    @Scheduled(cron = "${mmos.study.rank.rollover-cron:0 0 0 * * MON}")
+    public void rollover() {
+        reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${mmos.study.rank.reconcile-interval:600000}",
+            fixedDelayString = "${mmos.study.rank.reconcile-interval:600000}")
+    public void reload() {
+        synchronized (this) {
+            if (reloadingIdxs != null)
+                return;
+            reloadingIdxs = new HashSet<>();
+        }
+
+        Map<Long, StudyRankDto> loaded = new HashMap<>();
+        Set<Long> refreshIdxs;
+        try {
+            Long lastIdx = 0L;
+            while (true) {
+                List<StudyRankDto> chunk = studyRepository.findRankList(lastIdx, PageRequest.of(0, CHUNK_SIZE));
+                if (chunk.isEmpty())
+                    break;
+                setWeeklyTimes(chunk);
+                for (StudyRankDto study : chunk)
+                    loaded.put(study.getStudyIdx(), study);
+                lastIdx = chunk.get(chunk.size() - 1).getStudyIdx();
+            }
+        } catch (RuntimeException e) {
+            log.error("스터디 랭킹 갱신 실패", e);
+            synchronized (this) {
+                reloadingIdxs = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            studies.clear();
+            byMemberNum.clear();
+            byAverageStudyTime.clear();
+            loaded.values().forEach(this::put);
+            refreshIdxs = reloadingIdxs;
+            reloadingIdxs = null;
+        }
+        refresh(refreshIdxs);
+    }
+
+    private void refresh(Set<Long> studyIdxs) {
+        if (studyIdxs.isEmpty())
+            return;
+        long version;
+        synchronized (this) {
+            if (reloadingIdxs != null)
+                reloadingIdxs.addAll(studyIdxs);
+            version = ++refreshSequence;
+            studyIdxs.forEach(studyIdx -> refreshVersions.put(studyIdx, version));
+        }
+
+        Map<Long, StudyRankDto> loaded = new HashMap<>();
+        try {
+            List<StudyRankDto> loadedList = studyRepository.findRankList(studyIdxs);
+            setWeeklyTimes(loadedList);
+            loadedList.forEach(study -> loaded.put(study.getStudyIdx(), study));
+        } catch (RuntimeException e) {
+            // 커밋 후에 실행되므로 던지지 않고, 주기적으로 전체를 다시 읽을 때 맞춤
+            log.error("스터디 랭킹 갱신 실패 : " + studyIdxs, e);
+            synchronized (this) {
+                studyIdxs.forEach(studyIdx -> refreshVersions.remove(studyIdx, version));
+            }
+            return;
+        }
+
+        synchronized (this) {
+            for (Long studyIdx : studyIdxs) {
+                // 이후에 시작한 갱신이 있으면 그 결과를 기다림
+                if (!refreshVersions.remove(studyIdx, version))
+                    continue;
+                // 삭제된 스터디는 빠짐
+                remove(studyIdx);
+                StudyRankDto study = loaded.get(studyIdx);
+                if (study != null)
+                    put(study);
+            }
+        }
+    }
+
+    private void setWeeklyTimes(List<StudyRankDto> studies) {
+        if (studies.isEmpty())
+            return;
+        Map<Long, StudyRankDto> studyMap = new HashMap<>();
+        studies.forEach(study -> studyMap.put(study.getStudyIdx(), study));
+        for (StudyWeeklyTimeDto weeklyTime : studyWeeklyTimeService.getWeeklyTimes(studyMap.keySet()))
+            studyMap.get(weeklyTime.getStudyIdx()).setWeeklyTime(weeklyTime.getTotalTime(), weeklyTime.getContributorNum());
+    }
+
+    private void put(StudyRankDto study) {
+        remove(study.getStudyIdx());
+        if (study.getIsComplete() || !study.getIsVisible())
+            return;
+        studies.put(study.getStudyIdx(), study);
+        byMemberNum.add(study);
+        byAverageStudyTime.add(study);
+    }
+
+    private void remove(Long studyIdx) {
+        StudyRankDto study = studies.remove(studyIdx);
+        if (study == null)
+            return;
+        byMemberNum.remove(study);
+        byAverageStudyTime.remove(study);
+    }
+}
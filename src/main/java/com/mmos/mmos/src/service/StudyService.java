@@ -1,8 +1,10 @@
 package com.mmos.mmos.src.service;
 
+import com.mmos.mmos.src.domain.dto.study.StudyMaintenanceResponseDto;
 import com.mmos.mmos.src.domain.dto.study.StudyResponseDto;
 import com.mmos.mmos.src.domain.dto.study.StudySaveRequestDto;
 import com.mmos.mmos.src.domain.dto.user.UserResponseDto;
+import com.mmos.mmos.src.domain.dto.userstudy.StudyMemberResponseDto;
 import com.mmos.mmos.src.domain.entity.Study;
 import com.mmos.mmos.src.domain.entity.User;
 import com.mmos.mmos.src.domain.entity.UserStudy;
@@ -10,12 +12,12 @@ import com.mmos.mmos.src.repository.StudyRepository;
 import com.mmos.mmos.src.repository.UserStudyRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.mmos.mmos.config.HttpResponseStatus.EMPTY_STUDY;
@@ -25,6 +27,9 @@ import static com.mmos.mmos.config.HttpResponseStatus.EMPTY_STUDY;
 public class StudyService {
     private final StudyRepository studyRepository;
     private final UserStudyRepository userStudyRepository;
+    private final FeedCache feedCache;
+    private final StudyRanking studyRanking;
+    private final StudyMaintenance studyMaintenance;
 
     // 스터디 생성
     @Transactional
@@ -33,6 +38,8 @@ public class StudyService {
 
         // 스터디 생성
         studyRepository.save(study);
+        feedCache.invalidateStudiesAfterCommit();
+        studyRanking.refreshAfterCommit(study.getStudyIndex());
         return new StudyResponseDto(study);
     }
 
@@ -46,16 +53,6 @@ public class StudyService {
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 스터디입니다. STUDY_INDEX" + userStudyIdx));
     }
 
-    public List<Study> findPopularStudy() {
-        return studyRepository.findTop3ByStudyIsCompleteAndAndStudyIsVisibleOrderByStudyMemberNumDesc(false, true)
-                .orElse(null);
-    }
-
-    public List<Study> findHardestStudy() {
-        return studyRepository.findTop3ByStudyIsCompleteAndStudyIsVisibleOrderByStudyAverageStudyTimeDesc(false, true)
-                .orElse(null);
-    }
-    
     // 스터디 이름 업데이트
     @Transactional
     public StudyResponseDto updateStudyName(Long studyIdx, String newName) {
@@ -65,37 +62,29 @@ public class StudyService {
         if(study.getStudyName().equals(newName)) return null;
 
         study.updateStudyName(newName);
+        feedCache.invalidateStudiesAfterCommit();
+        studyRanking.refreshAfterCommit(studyIdx);
         return new StudyResponseDto(study);
     }
 
-    @Transactional
+    // 신청자(5) 또는 초대한 유저(4) 목록 (v1)
     public Page<UserResponseDto> getStudyAppliersOrInvitee(Long studyIdx, Integer status, Pageable pageable){
-        Study study = findStudy(studyIdx);
-
-        // UserStudy list에서 지원자 선별
-        List<UserResponseDto> appliersDto = new ArrayList<>();
-        for (UserStudy userStudy : study.getStudyUserstudies()){
-            if(userStudy.getUserstudyMemberStatus().equals(status)) {
-                appliersDto.add(new UserResponseDto(userStudy.getUser()));
-            }
-        }
-
-        return new PageImpl<>(appliersDto, pageable, appliersDto.size());
+        return userStudyRepository.findStudyUsers(studyIdx, List.of(status), unsorted(pageable));
     }
 
-    @Transactional
+    // 운영진, 부운영진, 멤버 목록 (v1)
     public List<UserResponseDto> getStudyMembers(Long studyIdx){
-        Study study = findStudy(studyIdx);
+        return userStudyRepository.findStudyUsers(studyIdx, List.of(1, 2, 3), Pageable.unpaged()).getContent();
+    }
 
-        // UserStudy list에서 멤버 선별
-        List<UserResponseDto> userResponseDtoList = new ArrayList<>();
-        for (UserStudy userStudy : study.getStudyUserstudies()){
-            if(userStudy.getUserstudyMemberStatus() < 4){
-                userResponseDtoList.add(new UserResponseDto(userStudy.getUser()));
-            }
-        }
+    // 신청자(5) 또는 초대한 유저(4) 목록 (v2)
+    public Page<StudyMemberResponseDto> getStudyApplierOrInviteePage(Long studyIdx, Integer status, Pageable pageable){
+        return userStudyRepository.findStudyMembers(studyIdx, List.of(status), unsorted(pageable));
+    }
 
-        return userResponseDtoList;
+    // 운영진, 부운영진, 멤버 목록 (v2)
+    public Page<StudyMemberResponseDto> getStudyMemberPage(Long studyIdx, Pageable pageable){
+        return userStudyRepository.findStudyMembers(studyIdx, List.of(1, 2, 3), unsorted(pageable));
     }
 
     // 스터디 완수 업데이트
@@ -108,6 +97,8 @@ public class StudyService {
         
         // Study 완료 처리
         study.updateStudyIsComplete();
+        feedCache.invalidateStudiesAfterCommit();
+        studyRanking.refreshAfterCommit(studyIdx);
 
         return new StudyResponseDto(study);
     }
@@ -126,42 +117,42 @@ public class StudyService {
     }
 
 
-    @Transactional
+    // 메모리의 랭킹에서 조회
     public List<StudyResponseDto> getPopularStudy() {
-        List<StudyResponseDto> responseDtoList = new ArrayList<>();
-        List<Study> studyList = findPopularStudy();
-
-        for (Study study : studyList) {
-            responseDtoList.add(new StudyResponseDto(study));
-        }
-
-        return responseDtoList;
+        return studyRanking.getPopularStudies();
     }
 
-    @Transactional
     public List<StudyResponseDto> getHardestStudy() {
-        List<StudyResponseDto> responseDtoList = new ArrayList<>();
-        List<Study> studyList = findHardestStudy();
-
-        for (Study study : studyList) {
-            if(study.getStudyAverageStudyTime() == 0L)
-                continue;
-            responseDtoList.add(new StudyResponseDto(study));
-        }
-
-        return responseDtoList;
+        return studyRanking.getHardestStudies();
     }
 
     @Transactional
     public Page<StudyResponseDto> getStudies(Pageable pageable) {
-        List<StudyResponseDto> responseDtoList = new ArrayList<>();
-        List<Study> studyList = studyRepository.findAll();
+        // DB 에서 페이징, 앞쪽 페이지는 캐시에서 조회
+        return feedCache.getStudies(pageable, () -> studyRepository.findStudyList(pageable));
+    }
 
-        for (Study study : studyList) {
-            responseDtoList.add(new StudyResponseDto(study));
+    /**
+     * 스터디 둘러보기 (잘못된 정렬 기준이면 null)
+     * member: 인원 많은 순, newest: 최신순은 DB 에서 페이징
+     * time: 이번 주 평균 공부시간순은 메모리의 랭킹에서 페이징 (랭킹에는 진행 중이고 공개된 스터디만 있으므로 두 필터를 끄면 null)
+     */
+    @Transactional(readOnly = true)
+    public Page<StudyResponseDto> getStudyDirectory(String sort, boolean onlyVisible, boolean onlyInProgress, boolean onlyHasSeat, int page, int size) {
+        switch (sort) {
+            case "member":
+                return studyRepository.findStudyDirectory(onlyVisible, onlyInProgress, onlyHasSeat, PageRequest.of(page, size,
+                        Sort.by(Sort.Direction.DESC, "studyMemberNum").and(Sort.by(Sort.Direction.DESC, "studyIndex"))));
+            case "newest":
+                return studyRepository.findStudyDirectory(onlyVisible, onlyInProgress, onlyHasSeat, PageRequest.of(page, size,
+                        Sort.by(Sort.Direction.DESC, "studyIndex")));
+            case "time":
+                if (!onlyVisible || !onlyInProgress)
+                    return null;
+                return studyRanking.getStudiesByAverageStudyTime(onlyHasSeat, PageRequest.of(page, size));
+            default:
+                return null;
         }
-
-        return new PageImpl<>(responseDtoList, pageable, responseDtoList.size());
     }
 
     @Transactional
@@ -174,12 +165,17 @@ public class StudyService {
         return new StudyResponseDto(study);
     }
 
-    @Transactional
-    public void resetAvgStudyTime() {
-        List<Study> studyList = studyRepository.findAll();
+    // 스터디원 수 재계산, 지난 주간 공부시간 삭제 후 랭킹을 이번 주 기준으로 다시 계산 (백그라운드)
+    public StudyMaintenanceResponseDto startMaintenance() {
+        return studyMaintenance.start();
+    }
 
-        for (Study study : studyList) {
-            study.resetAvgStudyTime();
-        }
+    public StudyMaintenanceResponseDto getMaintenance() {
+        return studyMaintenance.getProgress();
+    }
+
+    // 정렬은 쿼리에서 고정
+    private Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
     }
 }
@@ -0,0 +1,181 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.studytime.StudyTimeCloseDto;
+import com.mmos.mmos.src.repository.*;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 마감된 공부시간을 모아서 계획/플래너/캘린더/스터디/일별 기록에 한 번에 반영
+ * 공부시간 종료 요청마다 4개의 row 를 수정하지 않도록 row 별로 합산해 두었다가 주기적으로 UPDATE 한다.
+ * 반영 전 서버가 죽더라도 StudyTime.studytimeIsAggregated = false 인 row 로부터 다시 반영한다.
+ * (웹 서버가 요청을 받기 전에 복구해서, 복구 중에 종료된 공부시간이 두 번 반영되지 않도록)
+ */
+@Slf4j
+@Component
+public class StudyTimeAggregator implements SmartInitializingSingleton {
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    private final StudyTimeRepository studyTimeRepository;
+    private final PlanRepository planRepository;
+    private final PlannerRepository plannerRepository;
+    private final CalendarRepository calendarRepository;
+    private final StudyWeeklyTimeService studyWeeklyTimeService;
+    private final DailyRecordService dailyRecordService;
+    private final StudyRanking studyRanking;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Long> planTimes = new ConcurrentHashMap<>();
+    private Map<Long, Long> plannerTimes = new ConcurrentHashMap<>();
+    private Map<Long, Long> calendarTimes = new ConcurrentHashMap<>();
+    private Map<StudyKey, Long> studyTimes = new ConcurrentHashMap<>();
+    private Map<DailyKey, Long> dailyTimes = new ConcurrentHashMap<>();
+    private Set<Long> studytimeIdxs = ConcurrentHashMap.newKeySet();
+
+    public StudyTimeAggregator(StudyTimeRepository studyTimeRepository, PlanRepository planRepository,
+                               PlannerRepository plannerRepository, CalendarRepository calendarRepository,
+                               StudyWeeklyTimeService studyWeeklyTimeService, DailyRecordService dailyRecordService,
+                               StudyRanking studyRanking, PlatformTransactionManager transactionManager) {
+        this.studyTimeRepository = studyTimeRepository;
+        this.planRepository = planRepository;
+        this.plannerRepository = plannerRepository;
+        this.calendarRepository = calendarRepository;
+        this.studyWeeklyTimeService = studyWeeklyTimeService;
+        this.dailyRecordService = dailyRecordService;
+        this.studyRanking = studyRanking;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        recover();
+    }
+
+    // 서버 시작 시 반영되지 못한 공부시간 복구
+    public void recover() {
+        List<StudyTimeCloseDto> closes = studyTimeRepository.findNotAggregatedStudyTimes();
+        closes.forEach(this::add);
+        if (!closes.isEmpty())
+            log.info("반영되지 않은 공부시간 복구 : " + closes.size());
+    }
+
+    // 현재 트랜잭션이 커밋된 후 반영 대기열에 추가
+    public void addAfterCommit(StudyTimeCloseDto close) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(close);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(close);
+            }
+        });
+    }
+
+    public void add(StudyTimeCloseDto close) {
+        lock.readLock().lock();
+        try {
+            merge(planTimes, close.getPlanIdx(), close.getTime());
+            merge(plannerTimes, close.getPlannerIdx(), close.getTime());
+            merge(calendarTimes, close.getCalendarIdx(), close.getTime());
+            if (close.getStudyIdx() != null && close.getUserIdx() != null && close.getDate() != null && close.getTime() != 0)
+                studyTimes.merge(new StudyKey(close.getStudyIdx(), close.getUserIdx(), StudyWeeklyTimeService.weekOf(close.getDate())),
+                        close.getTime(), Long::sum);
+            if (close.getUserIdx() != null && close.getDate() != null && close.getTime() != 0)
+                dailyTimes.merge(new DailyKey(close.getUserIdx(), close.getDate()), close.getTime(), Long::sum);
+            if (close.getStudytimeIdx() != null)
+                studytimeIdxs.add(close.getStudytimeIdx());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${mmos.studytime.flush-interval:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> plans, planners, calendars;
+        Map<StudyKey, Long> studies;
+        Map<DailyKey, Long> dailies;
+        Set<Long> idxs;
+
+        // 대기열을 통째로 교체해서 반영 중에도 추가가 막히지 않도록
+        lock.writeLock().lock();
+        try {
+            if (studytimeIdxs.isEmpty() && planTimes.isEmpty() && plannerTimes.isEmpty()
+                    && calendarTimes.isEmpty() && studyTimes.isEmpty() && dailyTimes.isEmpty())
+                return;
+            plans = planTimes;
+            planners = plannerTimes;
+            calendars = calendarTimes;
+            studies = studyTimes;
+            dailies = dailyTimes;
+            idxs = studytimeIdxs;
+            planTimes = new ConcurrentHashMap<>();
+            plannerTimes = new ConcurrentHashMap<>();
+            calendarTimes = new ConcurrentHashMap<>();
+            studyTimes = new ConcurrentHashMap<>();
+            dailyTimes = new ConcurrentHashMap<>();
+            studytimeIdxs = ConcurrentHashMap.newKeySet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                plans.forEach(planRepository::addStudyTime);
+                planners.forEach(plannerRepository::addDailyStudyTime);
+                calendars.forEach(calendarRepository::addMonthlyStudyTime);
+                studies.forEach((key, time) -> studyWeeklyTimeService.addTime(key.studyIdx(), key.userIdx(), key.week(), time));
+                studyRanking.refreshAfterCommit(studies.keySet().stream().map(StudyKey::studyIdx).toList());
+                dailies.forEach((key, time) -> dailyRecordService.addRecord(key.userIdx(), key.date(), time, 0L));
+                List<Long> idxList = new ArrayList<>(idxs);
+                for (int i = 0; i < idxList.size(); i += IN_CLAUSE_SIZE)
+                    studyTimeRepository.updateIsAggregated(idxList.subList(i, Math.min(i + IN_CLAUSE_SIZE, idxList.size())));
+            });
+        } catch (RuntimeException e) {
+            // 실패하면 다음 주기에 다시 반영
+            log.error("공부시간 반영 실패", e);
+            lock.readLock().lock();
+            try {
+                plans.forEach((idx, time) -> merge(planTimes, idx, time));
+                planners.forEach((idx, time) -> merge(plannerTimes, idx, time));
+                calendars.forEach((idx, time) -> merge(calendarTimes, idx, time));
+                studies.forEach((key, time) -> studyTimes.merge(key, time, Long::sum));
+                dailies.forEach((key, time) -> dailyTimes.merge(key, time, Long::sum));
+                studytimeIdxs.addAll(idxs);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private void merge(Map<Long, Long> times, Long idx, Long time) {
+        if (idx == null || time == null || time == 0)
+            return;
+        times.merge(idx, time, Long::sum);
+    }
+
+    private record DailyKey(Long userIdx, LocalDate date) {
+    }
+
+    private record StudyKey(Long studyIdx, Long userIdx, LocalDate week) {
+    }
+}
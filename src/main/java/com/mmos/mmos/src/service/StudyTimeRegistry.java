@@ -0,0 +1,108 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.studytime.ActiveStudyTimeDto;
+import com.mmos.mmos.src.repository.StudyTimeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 진행 중인 공부시간(타이머) 목록
+ * 시작/종료 시 Planner 의 모든 Plan, StudyTime 을 뒤지지 않도록 userIndex 로 바로 찾는다.
+ * 서버 시작 시 웹 서버가 요청을 받기 전에 마감되지 않은 StudyTime 으로부터 다시 채운다.
+ * 목록이 바뀌면 커밋 후 스터디별 "지금 공부 중" 목록(StudyPresence)에도 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudyTimeRegistry implements SmartInitializingSingleton {
+
+    private final StudyTimeRepository studyTimeRepository;
+    private final StudyPresence studyPresence;
+
+    private final Map<Long, ActiveStudyTimeDto> activeStudyTimes = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        activeStudyTimes.clear();
+        for (ActiveStudyTimeDto activeStudyTime : studyTimeRepository.findActiveStudyTimes()) {
+            // 같은 유저에게 여러 개가 열려 있다면 가장 최근 것만 유지
+            activeStudyTimes.merge(activeStudyTime.getUserIdx(), activeStudyTime,
+                    (prev, next) -> prev.getStudytimeIdx() > next.getStudytimeIdx() ? prev : next);
+        }
+        studyPresence.rebuild(activeStudyTimes.values());
+    }
+
+    public ActiveStudyTimeDto get(Long userIdx) {
+        return activeStudyTimes.get(userIdx);
+    }
+
+    // 이미 진행 중인 공부시간이 있다면 등록하지 않고 기존 것을 반환
+    // 트랜잭션이 롤백되면 등록을 취소
+    public ActiveStudyTimeDto start(ActiveStudyTimeDto activeStudyTime) {
+        ActiveStudyTimeDto prev = activeStudyTimes.putIfAbsent(activeStudyTime.getUserIdx(), activeStudyTime);
+        if (prev == null) {
+            onRollback(() -> activeStudyTimes.remove(activeStudyTime.getUserIdx(), activeStudyTime));
+            afterCommit(() -> studyPresence.start(activeStudyTime.getUserIdx(), activeStudyTime.getStudytimeIdx(), activeStudyTime.getStartTime()));
+        }
+        return prev;
+    }
+
+    // 트랜잭션이 롤백되면 다시 등록
+    public boolean end(ActiveStudyTimeDto activeStudyTime) {
+        boolean removed = activeStudyTimes.remove(activeStudyTime.getUserIdx(), activeStudyTime);
+        if (removed) {
+            onRollback(() -> activeStudyTimes.putIfAbsent(activeStudyTime.getUserIdx(), activeStudyTime));
+            afterCommit(() -> studyPresence.end(activeStudyTime.getUserIdx(), activeStudyTime.getStudytimeIdx()));
+        }
+        return removed;
+    }
+
+    // 계획이 삭제되면 그 계획으로 진행 중이던 공부시간도 함께 삭제되므로 목록에서 제거
+    public void discardPlan(Long userIdx, Long planIdx) {
+        ActiveStudyTimeDto activeStudyTime = activeStudyTimes.get(userIdx);
+        if (activeStudyTime != null && activeStudyTime.getPlanIdx().equals(planIdx))
+            end(activeStudyTime);
+    }
+
+    // 자정 자동 마감 등으로 다른 곳에서 마감된 공부시간을 목록에서 제거
+    public void endStudyTime(Long userIdx, Long studytimeIdx) {
+        ActiveStudyTimeDto activeStudyTime = activeStudyTimes.get(userIdx);
+        if (activeStudyTime != null && activeStudyTime.getStudytimeIdx().equals(studytimeIdx)
+                && activeStudyTimes.remove(userIdx, activeStudyTime))
+            afterCommit(() -> studyPresence.end(userIdx, studytimeIdx));
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    private void onRollback(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED)
+                    runnable.run();
+            }
+        });
+    }
+}
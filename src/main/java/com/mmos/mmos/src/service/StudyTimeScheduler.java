@@ -0,0 +1,184 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.planner.PlannerKeyDto;
+import com.mmos.mmos.src.domain.dto.studytime.ActiveStudyTimeDto;
+import com.mmos.mmos.src.domain.entity.StudyTime;
+import com.mmos.mmos.src.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 날짜가 바뀌면 마감되지 않은 공부시간을 자정으로 마감
+ * 여러 날에 걸친 공부시간은 날짜별 구간으로 나누고, 각 구간은 그 날짜의 플래너에 반영한다.
+ * Plan 을 하나씩 불러오지 않도록 chunk 단위로 조회하고 합산해서 UPDATE 한다.
+ */
+@Slf4j
+@Component
+public class StudyTimeScheduler {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final StudyTimeRepository studyTimeRepository;
+    private final PlanRepository planRepository;
+    private final PlannerRepository plannerRepository;
+    private final CalendarRepository calendarRepository;
+    private final StudyWeeklyTimeService studyWeeklyTimeService;
+    private final StudyTimeRegistry studyTimeRegistry;
+    private final DailyRecordService dailyRecordService;
+    private final StudyRanking studyRanking;
+    private final TransactionTemplate transactionTemplate;
+
+    public StudyTimeScheduler(StudyTimeRepository studyTimeRepository, PlanRepository planRepository,
+                              PlannerRepository plannerRepository, CalendarRepository calendarRepository,
+                              StudyWeeklyTimeService studyWeeklyTimeService, StudyTimeRegistry studyTimeRegistry,
+                              DailyRecordService dailyRecordService, StudyRanking studyRanking,
+                              PlatformTransactionManager transactionManager) {
+        this.studyTimeRepository = studyTimeRepository;
+        this.planRepository = planRepository;
+        this.plannerRepository = plannerRepository;
+        this.calendarRepository = calendarRepository;
+        this.studyWeeklyTimeService = studyWeeklyTimeService;
+        this.studyTimeRegistry = studyTimeRegistry;
+        this.dailyRecordService = dailyRecordService;
+        this.studyRanking = studyRanking;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${mmos.studytime.close-cron:0 0 0 * * *}")
+    public void closeStudyTimes() {
+        LocalDateTime midnight = LocalDate.now().atStartOfDay();
+        Timestamp endTime = Timestamp.valueOf(midnight);
+
+        long closed = 0;
+        Long lastIdx = 0L;
+        while (true) {
+            List<ActiveStudyTimeDto> chunk = studyTimeRepository.findActiveStudyTimesBefore(endTime, lastIdx, PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty())
+                break;
+
+            List<ActiveStudyTimeDto> closedChunk = transactionTemplate.execute(status -> closeChunk(chunk, midnight));
+            // 커밋 후 진행 중 목록에서 제거
+            for (ActiveStudyTimeDto activeStudyTime : closedChunk)
+                studyTimeRegistry.endStudyTime(activeStudyTime.getUserIdx(), activeStudyTime.getStudytimeIdx());
+
+            closed += closedChunk.size();
+            lastIdx = chunk.get(chunk.size() - 1).getStudytimeIdx();
+        }
+        log.info("자정 공부시간 자동 마감 : " + closed);
+    }
+
+    private List<ActiveStudyTimeDto> closeChunk(List<ActiveStudyTimeDto> chunk, LocalDateTime midnight) {
+        Map<Long, Long> planTimes = new HashMap<>();
+        Map<Long, Long> plannerTimes = new HashMap<>();
+        Map<Long, Long> calendarTimes = new HashMap<>();
+        Map<StudyKey, Long> studyTimes = new HashMap<>();
+        Map<Long, Map<LocalDate, Long>> dailyTimes = new HashMap<>();
+        List<StudyTime> segments = new ArrayList<>();
+        List<ActiveStudyTimeDto> closedChunk = new ArrayList<>();
+
+        // 시작한 날 이후 날짜의 플래너를 한 번에 조회
+        Set<Long> userIdxs = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (ActiveStudyTimeDto activeStudyTime : chunk) {
+            LocalDate date = activeStudyTime.getStartTime().toLocalDateTime().toLocalDate().plusDays(1);
+            for (; date.isBefore(midnight.toLocalDate()); date = date.plusDays(1)) {
+                userIdxs.add(activeStudyTime.getUserIdx());
+                dates.add(date);
+            }
+        }
+        Map<Long, Map<LocalDate, PlannerKeyDto>> planners = new HashMap<>();
+        if (!dates.isEmpty()) {
+            for (PlannerKeyDto planner : plannerRepository.findPlannerKeys(userIdxs, dates))
+                planners.computeIfAbsent(planner.getUserIdx(), idx -> new HashMap<>()).put(planner.getDate(), planner);
+        }
+
+        for (ActiveStudyTimeDto activeStudyTime : chunk) {
+            LocalDateTime start = activeStudyTime.getStartTime().toLocalDateTime();
+            LocalDateTime end = start.toLocalDate().plusDays(1).atStartOfDay();
+            if (end.isAfter(midnight))
+                end = midnight;
+
+            // 사용자가 먼저 종료했다면 건너뜀
+            if (studyTimeRepository.closeStudyTime(activeStudyTime.getStudytimeIdx(), Timestamp.valueOf(end), true) != 1)
+                continue;
+            closedChunk.add(activeStudyTime);
+
+            // 시작한 날 구간은 계획의 플래너에 반영
+            long time = minutes(start, end);
+            long totalTime = time;
+            add(plannerTimes, activeStudyTime.getPlannerIdx(), time);
+            add(calendarTimes, activeStudyTime.getCalendarIdx(), time);
+            addDaily(dailyTimes, activeStudyTime.getUserIdx(), activeStudyTime.getPlannerDate(), time);
+            addStudy(studyTimes, activeStudyTime, activeStudyTime.getPlannerDate(), time);
+
+            // 다음 날부터는 날짜별 구간으로 나누어 그 날의 플래너에 반영 (플래너가 없으면 계획에만 반영)
+            while (end.isBefore(midnight)) {
+                LocalDateTime segmentStart = end;
+                end = segmentStart.plusDays(1);
+                time = minutes(segmentStart, end);
+                totalTime += time;
+                segments.add(new StudyTime(Timestamp.valueOf(segmentStart), Timestamp.valueOf(end),
+                        planRepository.getReferenceById(activeStudyTime.getPlanIdx()), true));
+                addDaily(dailyTimes, activeStudyTime.getUserIdx(), segmentStart.toLocalDate(), time);
+                addStudy(studyTimes, activeStudyTime, segmentStart.toLocalDate(), time);
+
+                PlannerKeyDto planner = planners.getOrDefault(activeStudyTime.getUserIdx(), Collections.emptyMap())
+                        .get(segmentStart.toLocalDate());
+                if (planner != null) {
+                    add(plannerTimes, planner.getPlannerIdx(), time);
+                    add(calendarTimes, planner.getCalendarIdx(), time);
+                }
+            }
+
+            add(planTimes, activeStudyTime.getPlanIdx(), totalTime);
+        }
+
+        studyTimeRepository.saveAll(segments);
+        planTimes.forEach(planRepository::addStudyTime);
+        plannerTimes.forEach(plannerRepository::addDailyStudyTime);
+        calendarTimes.forEach(calendarRepository::addMonthlyStudyTime);
+        studyTimes.forEach((key, time) -> studyWeeklyTimeService.addTime(key.studyIdx(), key.userIdx(), key.week(), time));
+        studyRanking.refreshAfterCommit(studyTimes.keySet().stream().map(StudyKey::studyIdx).toList());
+        dailyTimes.forEach((userIdx, times) ->
+                times.forEach((date, time) -> dailyRecordService.addRecord(userIdx, date, time, 0L)));
+
+        return closedChunk;
+    }
+
+    private long minutes(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end).toMinutes();
+    }
+
+    private void addDaily(Map<Long, Map<LocalDate, Long>> dailyTimes, Long userIdx, LocalDate date, long time) {
+        if (time == 0)
+            return;
+        dailyTimes.computeIfAbsent(userIdx, idx -> new HashMap<>()).merge(date, time, Long::sum);
+    }
+
+    // 스터디 계획이면 날짜가 속한 주의 스터디 공부시간에 반영
+    private void addStudy(Map<StudyKey, Long> studyTimes, ActiveStudyTimeDto activeStudyTime, LocalDate date, long time) {
+        if (activeStudyTime.getStudyIdx() == null || time == 0)
+            return;
+        studyTimes.merge(new StudyKey(activeStudyTime.getStudyIdx(), activeStudyTime.getUserIdx(), StudyWeeklyTimeService.weekOf(date)),
+                time, Long::sum);
+    }
+
+    private void add(Map<Long, Long> times, Long idx, long time) {
+        if (idx == null || time == 0)
+            return;
+        times.merge(idx, time, Long::sum);
+    }
+
+    private record StudyKey(Long studyIdx, Long userIdx, LocalDate week) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.mmos.mmos.src.service;
 
+import com.mmos.mmos.src.domain.dto.studytime.ActiveStudyTimeDto;
+import com.mmos.mmos.src.domain.dto.studytime.StudyTimeCloseDto;
 import com.mmos.mmos.src.domain.dto.studytime.StudyTimeResponseDto;
 import com.mmos.mmos.src.domain.entity.Plan;
 import com.mmos.mmos.src.domain.entity.StudyTime;
@@ -18,6 +20,8 @@ public class StudyTimeService {
     private final StudyTimeRepository studyTimeRepository;
     private final PlanRepository planRepository;
     private final PlanService planService;
+    private final StudyTimeRegistry studyTimeRegistry;
+    private final StudyTimeAggregator studyTimeAggregator;
 
     public Plan findPlanByIdx(Long planIdx) {
         return planRepository.findById(planIdx)
@@ -28,17 +32,23 @@ public class StudyTimeService {
     @Transactional
     public StudyTimeResponseDto setStartTime(Long planIdx) {
         Plan plan = findPlanByIdx(planIdx);
+        Long userIdx = plan.getPlanner().getCalendar().getUser().getUserIndex();
 
-        // 가장 최근 스터디 리스트에 마감을 하지 않은게 있다면 돌아가지 않도록
-        for (Plan plannerPlan : plan.getPlanner().getPlannerPlans()) {
-            if(plannerPlan.getPlanStudytimeTimes().isEmpty())
-                continue;
-            if(plannerPlan.getPlanStudytimeTimes().get(plannerPlan.getPlanStudytimeTimes().size() - 1).getStudytimeEndTime() == null)
-                return null;
-        }
+        // 마감하지 않은 공부시간이 있다면 돌아가지 않도록
+        if(studyTimeRegistry.get(userIdx) != null)
+            return null;
 
         StudyTime studyTime = studyTimeRepository.save(new StudyTime(new Timestamp(System.currentTimeMillis()), null, plan));
-        plan.addStudyTime(studyTime);
+
+        // 동시에 들어온 요청이 먼저 등록했다면 취소
+        Long studyIdx = plan.getPlanIsStudy() ? plan.getUserStudy().getStudy().getStudyIndex() : null;
+        ActiveStudyTimeDto activeStudyTime = new ActiveStudyTimeDto(studyTime.getStudytimeIndex(), planIdx,
+                plan.getPlanner().getPlannerIndex(), plan.getPlanner().getCalendar().getCalendarIndex(), studyIdx, userIdx,
+                plan.getPlanner().getPlannerDate(), studyTime.getStudytimeStartTime());
+        if(studyTimeRegistry.start(activeStudyTime) != null) {
+            studyTimeRepository.delete(studyTime);
+            return null;
+        }
 
         return new StudyTimeResponseDto(studyTime);
     }
@@ -47,27 +57,31 @@ public class StudyTimeService {
     // 하루가 지나면 자동 end
     @Transactional
     public StudyTimeResponseDto setEndTime(Long planIdx) {
-        Plan plan = findPlanByIdx(planIdx);
+        Long userIdx = planRepository.findUserIdxByPlanIdx(planIdx)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 계획입니다. PLAN_INDEX=" + planIdx));
 
-        if(plan.getPlanStudytimeTimes().isEmpty() ||
-                plan.getPlanStudytimeTimes().get(plan.getPlanStudytimeTimes().size() - 1).getStudytimeEndTime() != null)
+        // 이 계획으로 진행 중인 공부시간이 없다면 종료하지 않도록
+        ActiveStudyTimeDto activeStudyTime = studyTimeRegistry.get(userIdx);
+        if(activeStudyTime == null || !activeStudyTime.getPlanIdx().equals(planIdx) || !studyTimeRegistry.end(activeStudyTime))
             return null;
 
-        StudyTime studyTime = plan.getPlanStudytimeTimes().get(plan.getPlanStudytimeTimes().size() - 1);
-        studyTime.updateEndTime(new Timestamp(System.currentTimeMillis()));
+        // 자정 마감이 먼저 마감했다면 반영하지 않음 (마감 조건을 DB 에서 확인)
+        if(studyTimeRepository.closeStudyTime(activeStudyTime.getStudytimeIdx(), new Timestamp(System.currentTimeMillis()), false) != 1)
+            return null;
+        StudyTime studyTime = studyTimeRepository.findById(activeStudyTime.getStudytimeIdx()).orElse(null);
+        if(studyTime == null)
+            return null;
 
         // 오늘 공부시간 구하기
         Long todayStudyTime = (studyTime.getStudytimeEndTime().getTime() - studyTime.getStudytimeStartTime().getTime()) / 60000;
         if(todayStudyTime < 1) {
             studyTimeRepository.delete(studyTime);
+            return new StudyTimeResponseDto(studyTime);
         }
-        // 계획
-        plan.addTime(todayStudyTime);
-        // 공부시간 저장
-        plan.getPlanner().addTime(todayStudyTime);
-        plan.getPlanner().getCalendar().addTime(todayStudyTime);
-        if(plan.getPlanIsStudy())
-            plan.getUserStudy().getStudy().plusAverageStudyTime(todayStudyTime);
+        // 계획, 플래너, 캘린더, 스터디, 일별 기록 공부시간은 커밋 후 모아서 반영
+        studyTimeAggregator.addAfterCommit(new StudyTimeCloseDto(studyTime.getStudytimeIndex(), planIdx,
+                activeStudyTime.getPlannerIdx(), activeStudyTime.getCalendarIdx(), activeStudyTime.getStudyIdx(),
+                userIdx, activeStudyTime.getPlannerDate(), todayStudyTime));
 
         return new StudyTimeResponseDto(studyTime);
     }
@@ -0,0 +1,49 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.study.StudyWeeklyTimeDto;
+import com.mmos.mmos.src.repository.StudyWeeklyTimeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 스터디 주간 공부시간
+ * 스터디원별로 주간 공부시간을 정확히 더해 두고, 평균은 조회할 때 합계 / 공부한 스터디원 수로 계산한다.
+ * 주가 바뀌면 새 주의 row 에 쌓이므로 초기화할 필요가 없다.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudyWeeklyTimeService {
+
+    private final StudyWeeklyTimeRepository studyWeeklyTimeRepository;
+
+    // 날짜가 속한 주의 시작일 (월요일)
+    public static LocalDate weekOf(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY);
+    }
+
+    public static LocalDate currentWeek() {
+        return weekOf(LocalDate.now());
+    }
+
+    // 해당 날짜가 속한 주의 스터디원 공부시간 가감 (현재 트랜잭션에서 반영)
+    public void addTime(Long studyIdx, Long userIdx, LocalDate date, Long time) {
+        if (studyIdx == null || userIdx == null || time == null || time == 0)
+            return;
+        LocalDate week = weekOf(date);
+        // 더할 때는 기록이 없으면 함께 만들고, 뺄 때는 있는 기록만 바꿈
+        if (time > 0)
+            studyWeeklyTimeRepository.upsertTime(studyIdx, userIdx, week, time);
+        else
+            studyWeeklyTimeRepository.addTime(studyIdx, userIdx, week, time);
+    }
+
+    // 이번 주 스터디별 공부시간 합계, 공부한 스터디원 수 (공부시간이 없는 스터디는 빠짐)
+    public List<StudyWeeklyTimeDto> getWeeklyTimes(Collection<Long> studyIdxs) {
+        return studyWeeklyTimeRepository.findWeeklyTimes(currentWeek(), studyIdxs);
+    }
+}
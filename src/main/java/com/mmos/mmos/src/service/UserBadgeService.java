@@ -1,5 +1,6 @@
 package com.mmos.mmos.src.service;
 
+import com.mmos.mmos.src.domain.dto.dailyrecord.DailyRecordSumDto;
 import com.mmos.mmos.src.domain.dto.userbadge.UserBadgeResponseDto;
 import com.mmos.mmos.src.domain.entity.Badge;
 import com.mmos.mmos.src.domain.entity.User;
@@ -19,6 +20,7 @@ public class UserBadgeService {
     private final UserBadgeRepository userBadgeRepository;
     private final UserRepository userRepository;
     private final BadgeRepository badgeRepository;
+    private final DailyRecordService dailyRecordService;
 
     public User findUserByIdx(Long userIdx) {
         return userRepository.findById(userIdx)
@@ -32,12 +34,14 @@ public class UserBadgeService {
     public List<UserBadgeResponseDto> saveUserBadge(Long userIdx){
         User user = findUserByIdx(userIdx);
         List<Badge> badges = findBadges();
+        // 누적 공부시간, 완료한 계획 수
+        DailyRecordSumDto totalRecord = dailyRecordService.getTotalRecord(userIdx);
 
         List<UserBadge> newBadges = new ArrayList<>();
         List<UserBadgeResponseDto> responseDtoList = new ArrayList<>();
         for (Badge badge : badges) {
-            if((badge.getIsBadgeTime() && user.getUserTotalStudyTime() >= badge.getBadgeExp())
-                    || (!badge.getIsBadgeTime() && user.getUserTotalCompletedScheduleNum() >= badge.getBadgeExp()))
+            if((badge.getIsBadgeTime() && totalRecord.getStudyTime() >= badge.getBadgeExp())
+                    || (!badge.getIsBadgeTime() && totalRecord.getCompletedPlanNum() >= badge.getBadgeExp()))
             {
                 // 유저가 이미 해당 뱃지를 존재하는 경우 continue
                 Boolean isExist = false;
@@ -23,6 +23,9 @@ public class UserStudyService {
     final private UserRepository userRepository;
     final private UserStudyRepository userStudyRepository;
     final private StudyRepository studyRepository;
+    final private StudyRanking studyRanking;
+    final private StudyAdmissionLock studyAdmissionLock;
+    final private FeedCache feedCache;
 
     public Study findStudyByIdx(Long studyIdx) {
         return studyRepository.findById(studyIdx)
@@ -57,8 +60,11 @@ public class UserStudyService {
         if(leaderUserStudy.getUserstudyMemberStatus() > 2) {
             return new UserStudyResponseDto(USERSTUDY_INVALID_REQUEST);
         }
+        if(!studyAdmissionLock.lock(leaderUserStudy.getStudy().getStudyIndex())) {
+            return new UserStudyResponseDto(USERSTUDY_TOO_MANY_REQUESTS);
+        }
 
-        // 인원 수가 충분한지 체크
+        // 인원 수가 충분한지 체크 (수락할 때 다시 확인)
         if(leaderUserStudy.getStudy().getStudyMemberLimit() <= leaderUserStudy.getStudy().getStudyMemberNum()) {
             return new UserStudyResponseDto(USERSTUDY_MEMBER_LIMIT_FULL);
 
@@ -89,33 +95,39 @@ public class UserStudyService {
 
     @Transactional
     public UserStudyResponseDto saveUserStudy(Integer isMember, Long userIdx, Long studyIdx) {
-        // 객체 불러오기
-        Study study = findStudyByIdx(studyIdx);
-        User user = findUserByIdx(userIdx);
-
-        // 인원 수가 충분한지 체크
-        if(study.getStudyMemberLimit() <= study.getStudyMemberNum())
+        if(!studyAdmissionLock.lock(studyIdx))
             return null;
 
         // 중복 검사
-        for (UserStudy userStudy : study.getStudyUserstudies())
-            if (userStudy.getUser().equals(user))
-                return null;
+        if(findUserStudyByStudyIdxAndUserIdx(studyIdx, userIdx) != null)
+            return null;
+
+        // 자리가 있을 때만 인원 수 증가
+        if(studyRepository.admitMember(studyIdx) == 0)
+            return null;
+
+        // 객체 불러오기
+        Study study = findStudyByIdx(studyIdx);
+        User user = findUserByIdx(userIdx);
 
         // 객체 생성
         UserStudy userStudy = new UserStudy(isMember, user, study);
         // 매핑
         study.addUserStudy(userStudy);
         user.adduserStudies(userStudy);
-        study.plusMemberNum();
 
         userStudyRepository.save(userStudy);
+        studyRanking.refreshAfterCommit(studyIdx);
+        feedCache.invalidateStudiesAfterCommit();
 
         return new UserStudyResponseDto(userStudy, SUCCESS);
     }
 
     @Transactional
     public UserStudyResponseDto acceptInvite(Long studyIdx, Long userIdx) {
+        if(!studyAdmissionLock.lock(studyIdx)) {
+            return new UserStudyResponseDto(USERSTUDY_TOO_MANY_REQUESTS);
+        }
         UserStudy userStudy = findUserStudyByStudyIdxAndUserIdx(studyIdx, userIdx);
 
         // 받은 요청이 있는지 확인 && 이미 받은 요청인지 확인
@@ -123,14 +135,14 @@ public class UserStudyService {
             return new UserStudyResponseDto(USERSTUDY_COMPLETE_REQUEST);
         }
 
-        // 스터디원이 가득 찼는지 확인
-        // 인원 수가 충분한지 체크
-        if(userStudy.getStudy().getStudyMemberLimit() <= userStudy.getStudy().getStudyMemberNum()) {
+        // 자리가 있을 때만 인원 수 증가
+        if(studyRepository.admitMember(studyIdx) == 0) {
             return new UserStudyResponseDto(USERSTUDY_MEMBER_LIMIT_FULL);
         }
 
         userStudy.updateMemberStatus(3);
-        userStudy.getStudy().plusMemberNum();
+        studyRanking.refreshAfterCommit(studyIdx);
+        feedCache.invalidateStudiesAfterCommit();
 
 
         return new UserStudyResponseDto(userStudy, SUCCESS);
@@ -168,6 +180,10 @@ public class UserStudyService {
 
     @Transactional
     public UserStudyResponseDto attendRequest(Long userIdx, UserStudyAttendDto requestDto) {
+        if(!studyAdmissionLock.lock(requestDto.getStudyIdx())) {
+            return new UserStudyResponseDto(USERSTUDY_TOO_MANY_REQUESTS);
+        }
+
         // 이미 참여중이거나 보낸 요청이 있는지 확인
         UserStudy userStudy = findUserStudyByStudyIdxAndUserIdx(requestDto.getStudyIdx(), userIdx);
         if(userStudy != null) {
@@ -183,7 +199,7 @@ public class UserStudyService {
         User user = findUserByIdx(userIdx);
         Study study = findStudyByIdx(requestDto.getStudyIdx());
 
-        // 인원 수 체크
+        // 인원 수 체크 (수락할 때 다시 확인)
         if(study.getStudyMemberLimit() <= study.getStudyMemberNum()) {
             return new UserStudyResponseDto(USERSTUDY_ALREADY_EXIST);
         }
@@ -203,26 +219,26 @@ public class UserStudyService {
         if(leaderUserStudy.getUserstudyMemberStatus() > 2) {
             return new UserStudyResponseDto(USERSTUDY_INVALID_REQUEST);
         }
-
-
-        // 스터디원이 가득 찼는지 확인
-        if(leaderUserStudy.getStudy().getStudyMemberLimit() <= leaderUserStudy.getStudy().getStudyMemberNum()) {
-            return new UserStudyResponseDto(USERSTUDY_MEMBER_LIMIT_FULL);
+        Long studyIdx = leaderUserStudy.getStudy().getStudyIndex();
+        if(!studyAdmissionLock.lock(studyIdx)) {
+            return new UserStudyResponseDto(USERSTUDY_TOO_MANY_REQUESTS);
         }
 
         UserStudy userStudy = findUserStudyByIdx(userStudyIdx2);
 
-        // 이미 활동 중인 스터디거나 요청이 완료된 상황인지 확인
-        if(userStudy == null || userStudy.getUserstudyMemberStatus() <= 3) {
+        // 이미 활동 중인 스터디거나 요청이 완료된 상황인지 확인 (다른 스터디의 요청은 처리하지 않음)
+        if(userStudy == null || userStudy.getUserstudyMemberStatus() <= 3 || !userStudy.getStudy().getStudyIndex().equals(studyIdx)) {
             return new UserStudyResponseDto(USERSTUDY_COMPLETE_REQUEST);
         }
 
-        userStudy.updateMemberStatus(3);
-
-        if(userStudy.getStudy().getStudyUserstudies().size() == userStudy.getStudy().getStudyMemberLimit()) {
-            System.out.println(userStudy.getStudy().getStudyUserstudies().size());
-            userStudy.getStudy().plusMemberNum();
+        // 자리가 있을 때만 인원 수 증가
+        if(studyRepository.admitMember(studyIdx) == 0) {
+            return new UserStudyResponseDto(USERSTUDY_MEMBER_LIMIT_FULL);
         }
+
+        userStudy.updateMemberStatus(3);
+        studyRanking.refreshAfterCommit(userStudy.getStudy().getStudyIndex());
+        feedCache.invalidateStudiesAfterCommit();
         return new UserStudyResponseDto(userStudy, SUCCESS);
     }
 
@@ -264,8 +280,10 @@ public class UserStudyService {
         if(userStudy == null || userStudy.getUserstudyMemberStatus() >= 4 || userStudy.getUserstudyMemberStatus() == 1)
             return null;
 
-        userStudy.getStudy().minusMemberNum();
+        studyRepository.releaseMember(userStudy.getStudy().getStudyIndex());
         userStudyRepository.delete(userStudy);
+        studyRanking.refreshAfterCommit(userStudy.getStudy().getStudyIndex());
+        feedCache.invalidateStudiesAfterCommit();
 
         return userStudyIdx;
     }
@@ -284,8 +302,10 @@ public class UserStudyService {
             return -2L;
         }
 
-        userStudy.getStudy().minusMemberNum();
+        studyRepository.releaseMember(userStudy.getStudy().getStudyIndex());
         userStudyRepository.delete(userStudy);
+        studyRanking.refreshAfterCommit(userStudy.getStudy().getStudyIndex());
+        feedCache.invalidateStudiesAfterCommit();
 
         return userStudy.getUserstudyIndex();
     }
@@ -0,0 +1,102 @@
+package com.mmos.mmos.utils;
+
+import java.util.Arrays;
+
+/**
+ * 압축 인접 배열 그래프 (Compressed Sparse Row)
+ * 노드는 0 ~ nodeNum-1 의 int 이고, 노드 i 의 이웃은 targets[offsets[i]] ~ targets[offsets[i + 1] - 1] 이다.
+ * 간선마다 객체를 만들지 않으므로 간선 수천만 개도 int 배열 두 개로 들고 있을 수 있다.
+ */
+public class CsrGraph {
+
+    private final int[] offsets;
+    private final int[] targets;
+
+    private CsrGraph(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public int getNodeNum() {
+        return offsets.length - 1;
+    }
+
+    public int getEdgeNum() {
+        return targets.length;
+    }
+
+    public int start(int node) {
+        return offsets[node];
+    }
+
+    public int end(int node) {
+        return offsets[node + 1];
+    }
+
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int target(int position) {
+        return targets[position];
+    }
+
+    /**
+     * 간선을 모아 두었다가 한 번에 정렬해서 만듦
+     * 모으는 동안에는 간선마다 int 두 개를 쓰고, build 후에는 버린다.
+     */
+    public static class Builder {
+
+        private final int nodeNum;
+        private int[] sources;
+        private int[] targets;
+        private int edgeNum = 0;
+
+        public Builder(int nodeNum) {
+            this(nodeNum, 1024);
+        }
+
+        // 간선 수를 미리 알면 그만큼 잡아 두어 모으는 동안 배열을 다시 만들지 않음
+        public Builder(int nodeNum, long expectedEdgeNum) {
+            this.nodeNum = nodeNum;
+            int capacity = (int) Math.min(Math.max(expectedEdgeNum, 16), Integer.MAX_VALUE - 8);
+            this.sources = new int[capacity];
+            this.targets = new int[capacity];
+        }
+
+        public void addEdge(int source, int target) {
+            if (edgeNum == sources.length) {
+                int capacity = sources.length + (sources.length >> 1);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+            sources[edgeNum] = source;
+            targets[edgeNum] = target;
+            edgeNum++;
+        }
+
+        // 양방향 간선
+        public void addUndirectedEdge(int node1, int node2) {
+            addEdge(node1, node2);
+            addEdge(node2, node1);
+        }
+
+        // source 별로 개수를 센 후 자리를 잡아 넣음 (counting sort)
+        public CsrGraph build() {
+            int[] offsets = new int[nodeNum + 1];
+            for (int i = 0; i < edgeNum; i++)
+                offsets[sources[i] + 1]++;
+            for (int i = 0; i < nodeNum; i++)
+                offsets[i + 1] += offsets[i];
+
+            int[] positions = Arrays.copyOf(offsets, nodeNum);
+            int[] sortedTargets = new int[edgeNum];
+            for (int i = 0; i < edgeNum; i++)
+                sortedTargets[positions[sources[i]]++] = targets[i];
+
+            sources = null;
+            targets = null;
+            return new CsrGraph(offsets, sortedTargets);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.mmos.mmos.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+// 무한 스크롤용 커서 (마지막으로 받은 index 를 base64 로 인코딩)
+public class Cursor {
+
+    private Cursor() {
+    }
+
+    public static String encode(Long idx) {
+        if (idx == null)
+            return null;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(idx).array());
+    }
+
+    // 커서가 없으면 null, 잘못된 커서면 IllegalArgumentException
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != Long.BYTES)
+            throw new IllegalArgumentException("invalid cursor");
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
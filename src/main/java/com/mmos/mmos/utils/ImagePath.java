@@ -0,0 +1,44 @@
+package com.mmos.mmos.utils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 업로드한 이미지의 파일명, URL 규칙 (원본: {sha256}.{확장자}, 썸네일: {sha256}_thumb.jpg)
+public class ImagePath {
+
+    public static final String URL_PREFIX = "/api/v1/images/";
+    public static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+
+    private static final Pattern NAME = Pattern.compile("([0-9a-f]{64})(_thumb\\.jpg|\\.(jpg|png|gif|webp))");
+
+    private ImagePath() {
+    }
+
+    public static String originalName(String hash, String extension) {
+        return hash + "." + extension;
+    }
+
+    public static String thumbnailName(String hash) {
+        return hash + THUMBNAIL_SUFFIX;
+    }
+
+    // 올바른 파일명이 아니면 null
+    public static String hashOf(String name) {
+        if (name == null)
+            return null;
+        Matcher matcher = NAME.matcher(name);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    public static boolean isThumbnail(String name) {
+        return name.endsWith(THUMBNAIL_SUFFIX);
+    }
+
+    // 업로드한 이미지면 썸네일 URL, 외부 이미지면 그대로
+    public static String thumbnailUrl(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX))
+            return imageUrl;
+        String hash = hashOf(imageUrl.substring(URL_PREFIX.length()));
+        return hash == null ? imageUrl : URL_PREFIX + thumbnailName(hash);
+    }
+}
@@ -0,0 +1,72 @@
+package com.mmos.mmos.utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 날짜 구간 트리 (생성 후 변경 불가)
+ * 시작일 순으로 정렬한 배열을 암묵적 이진 트리로 보고, 각 노드에 서브트리의 최대 종료일을 저장한다.
+ * 겹치는 구간 조회는 O(log n + k)
+ */
+public class IntervalTree<T> {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final List<T> values;
+
+    public IntervalTree(List<T> items, Function<T, LocalDate> startGetter, Function<T, LocalDate> endGetter) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(startGetter));
+
+        int size = sorted.size();
+        this.starts = new long[size];
+        this.ends = new long[size];
+        this.maxEnds = new long[size];
+        this.values = sorted;
+        for (int i = 0; i < size; i++) {
+            starts[i] = startGetter.apply(sorted.get(i)).toEpochDay();
+            ends[i] = endGetter.apply(sorted.get(i)).toEpochDay();
+        }
+        build(0, size - 1);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    // [startDate, endDate] 와 겹치는 구간 (시작일 순)
+    public List<T> findOverlaps(LocalDate startDate, LocalDate endDate) {
+        List<T> result = new ArrayList<>();
+        find(0, values.size() - 1, startDate.toEpochDay(), endDate.toEpochDay(), result);
+        return result;
+    }
+
+    private long build(int lo, int hi) {
+        if (lo > hi)
+            return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long maxEnd = Math.max(ends[mid], Math.max(build(lo, mid - 1), build(mid + 1, hi)));
+        maxEnds[mid] = maxEnd;
+        return maxEnd;
+    }
+
+    private void find(int lo, int hi, long start, long end, List<T> result) {
+        if (lo > hi)
+            return;
+        int mid = (lo + hi) >>> 1;
+        // 서브트리 전체가 조회 구간보다 먼저 끝남
+        if (maxEnds[mid] < start)
+            return;
+        find(lo, mid - 1, start, end, result);
+        // 오른쪽은 모두 조회 구간이 끝난 후 시작
+        if (starts[mid] > end)
+            return;
+        if (ends[mid] >= start)
+            result.add(values.get(mid));
+        find(mid + 1, hi, start, end, result);
+    }
+}
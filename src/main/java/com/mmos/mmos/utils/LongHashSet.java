@@ -0,0 +1,128 @@
+package com.mmos.mmos.utils;
+
+/**
+ * long 값 집합 (open addressing)
+ * Set<Long> 과 달리 값마다 객체를 만들지 않으므로 메모리를 적게 쓰고, 조회 시 객체를 만들지 않는다.
+ * 0 은 빈 칸 표시로 쓰므로 따로 보관한다. 동기화하지 않으므로 사용하는 쪽에서 잠가야 한다.
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] values;
+    private int size;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 4)
+            capacity <<= 1;
+        this.values = new long[capacity];
+    }
+
+    public boolean contains(long value) {
+        if (value == 0)
+            return hasZero;
+        int mask = values.length - 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            if (values[i] == 0)
+                return false;
+            if (values[i] == value)
+                return true;
+        }
+    }
+
+    public boolean add(long value) {
+        if (value == 0) {
+            if (hasZero)
+                return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        // 4분의 3 이상 차면 두 배로 늘림
+        if ((size + 1) * 4 > values.length * 3)
+            resize(values.length << 1);
+        if (!insert(values, value))
+            return false;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!hasZero)
+                return false;
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int mask = values.length - 1;
+        int i = hash(value) & mask;
+        while (values[i] != value) {
+            if (values[i] == 0)
+                return false;
+            i = (i + 1) & mask;
+        }
+        values[i] = 0;
+        size--;
+
+        // 뒤따르는 값들을 다시 넣어서 탐색이 끊기지 않도록 함
+        for (int j = (i + 1) & mask; values[j] != 0; j = (j + 1) & mask) {
+            long moved = values[j];
+            values[j] = 0;
+            insert(values, moved);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] toArray() {
+        long[] array = new long[size];
+        int index = 0;
+        if (hasZero)
+            array[index++] = 0;
+        for (long value : values) {
+            if (value != 0)
+                array[index++] = value;
+        }
+        return array;
+    }
+
+    private void resize(int capacity) {
+        long[] resized = new long[capacity];
+        for (long value : values) {
+            if (value != 0)
+                insert(resized, value);
+        }
+        values = resized;
+    }
+
+    private static boolean insert(long[] table, long value) {
+        int mask = table.length - 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            if (table[i] == 0) {
+                table[i] = value;
+                return true;
+            }
+            if (table[i] == value)
+                return false;
+        }
+    }
+
+    private static int hash(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
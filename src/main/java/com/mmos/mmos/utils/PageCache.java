@@ -0,0 +1,96 @@
+package com.mmos.mmos.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 자주 조회되는 페이지 캐시
+ * 같은 키를 동시에 조회하면 DB 조회는 한 번만 하고 나머지는 그 결과를 기다린다.
+ * 데이터가 바뀌면 invalidate 로 전체를 비우고, 비우지 못한 변경(다른 유저 정보 등)은 만료 시간이 지나면 다시 조회한다.
+ */
+public class PageCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long expireMillis;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PageCache(String name, int maxSize, long expireMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.expireMillis = expireMillis;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            // 만료된 항목을 지워도 캐시가 가득 찼다면 저장하지 않고 조회만
+            if (entries.size() >= maxSize)
+                removeExpired();
+            if (entries.size() >= maxSize) {
+                misses.increment();
+                return loader.get();
+            }
+            Entry<V> loading = new Entry<>(new CompletableFuture<>(), System.currentTimeMillis() + expireMillis);
+            entry = entries.putIfAbsent(key, loading);
+            if (entry == null) {
+                misses.increment();
+                try {
+                    V value = loader.get();
+                    loading.future().complete(value);
+                    return value;
+                } catch (RuntimeException e) {
+                    entries.remove(key, loading);
+                    loading.future().completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+
+        hits.increment();
+        try {
+            return entry.future().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    public void invalidate() {
+        entries.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    private record Entry<V>(CompletableFuture<V> future, long expiresAt) {
+    }
+}
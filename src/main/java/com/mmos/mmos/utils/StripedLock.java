@@ -0,0 +1,36 @@
+package com.mmos.mmos.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 키별 잠금 (고정된 개수의 잠금을 키의 해시로 나누어 사용)
+ * 키마다 잠금을 만들지 않으므로 메모리가 늘어나지 않고, 다른 키끼리는 대부분 서로 막지 않는다.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] locks;
+
+    public StripedLock(int stripes) {
+        this.locks = new ReentrantLock[Math.max(1, stripes)];
+        for (int i = 0; i < locks.length; i++)
+            locks[i] = new ReentrantLock();
+    }
+
+    // 제한 시간 안에 잠그지 못하면 null
+    public ReentrantLock tryLock(Object key, long timeoutMillis) {
+        ReentrantLock lock = get(key);
+        try {
+            return lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS) ? lock : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private ReentrantLock get(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return locks[Math.floorMod(hash, locks.length)];
+    }
+}
@@ -0,0 +1,103 @@
+package com.mmos.mmos.src.domain.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 하루 2bit 스트릭 저장 (한 byte 안의 4일, 연도 경계, 배열 확장)
+class StreakHistoryTest {
+
+    private static final Long USER_IDX = 1L;
+
+    @Test
+    void unsetDaysAreZero() {
+        StreakHistory streakHistory = new StreakHistory(USER_IDX, 2023);
+
+        assertThat(streakHistory.getLevel(LocalDate.of(2023, 1, 1))).isZero();
+        assertThat(streakHistory.getLevel(LocalDate.of(2022, 12, 31))).isZero();
+        assertThat(streakHistory.getLevel(LocalDate.of(2030, 6, 1))).isZero();
+        assertThat(streakHistory.getStreakhistoryLevels()).isEmpty();
+    }
+
+    @Test
+    void daysInOneByteDoNotOverlap() {
+        StreakHistory streakHistory = new StreakHistory(USER_IDX, 2023);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+
+        // 1월 1~4일이 첫 byte, 5~8일이 두 번째 byte (마지막 칸은 부호 bit 포함)
+        for (int day = 0; day < 8; day++)
+            streakHistory.updateLevel(start.plusDays(day), day % 4);
+        for (int day = 0; day < 8; day++)
+            assertThat(streakHistory.getLevel(start.plusDays(day))).isEqualTo(day % 4);
+
+        // 더 낮은 단계로 덮어쓰면 그 칸의 bit 만 지워짐
+        streakHistory.updateLevel(start.plusDays(3), 1);
+        assertThat(streakHistory.getLevel(start.plusDays(3))).isEqualTo(1);
+        assertThat(streakHistory.getLevel(start.plusDays(2))).isEqualTo(2);
+        assertThat(streakHistory.getLevel(start.plusDays(4))).isZero();
+    }
+
+    @Test
+    void yearBoundaries() {
+        StreakHistory streakHistory = new StreakHistory(USER_IDX, 2023);
+        LocalDate endOf2023 = LocalDate.of(2023, 12, 31);
+        LocalDate startOf2024 = LocalDate.of(2024, 1, 1);
+        LocalDate endOf2024 = LocalDate.of(2024, 12, 31);
+        LocalDate startOf2025 = LocalDate.of(2025, 1, 1);
+
+        streakHistory.updateLevel(endOf2023, 3);
+        assertThat(streakHistory.getStreakhistoryLevels()).hasSize(92);
+        // 2024년 1월 1일은 첫 해 배열의 마지막 byte 에 들어감 (365일째)
+        streakHistory.updateLevel(startOf2024, 2);
+        assertThat(streakHistory.getStreakhistoryLevels()).hasSize(92);
+
+        // 윤년 마지막 날과 다음 해 첫날은 같은 byte
+        streakHistory.updateLevel(endOf2024, 1);
+        streakHistory.updateLevel(startOf2025, 3);
+        assertThat(streakHistory.getStreakhistoryLevels()).hasSize(184);
+
+        assertThat(streakHistory.getLevel(endOf2023)).isEqualTo(3);
+        assertThat(streakHistory.getLevel(startOf2024)).isEqualTo(2);
+        assertThat(streakHistory.getLevel(endOf2024)).isEqualTo(1);
+        assertThat(streakHistory.getLevel(startOf2025)).isEqualTo(3);
+        assertThat(streakHistory.getLevel(LocalDate.of(2024, 12, 30))).isZero();
+    }
+
+    @Test
+    void growsByWholeYears() {
+        StreakHistory streakHistory = new StreakHistory(USER_IDX, 2020);
+
+        streakHistory.updateLevel(LocalDate.of(2023, 3, 1), 2);
+
+        assertThat(streakHistory.getStreakhistoryLevels().length % 92).isZero();
+        assertThat(streakHistory.getLevel(LocalDate.of(2023, 3, 1))).isEqualTo(2);
+        assertThat(streakHistory.getLevel(LocalDate.of(2020, 1, 1))).isZero();
+    }
+
+    @Test
+    void lastDateOnlyMovesForward() {
+        StreakHistory streakHistory = new StreakHistory(USER_IDX, 2023);
+        LocalDate date = LocalDate.of(2023, 5, 10);
+
+        streakHistory.updateLevel(date, 1);
+        streakHistory.updateLevel(date.minusDays(3), 2);
+
+        assertThat(streakHistory.getStreakhistoryLastDate()).isEqualTo(date);
+        assertThat(streakHistory.isEvaluated(date)).isTrue();
+        assertThat(streakHistory.isEvaluated(date.minusDays(1))).isTrue();
+        assertThat(streakHistory.isEvaluated(date.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void datesBeforeStartYearAreIgnored() {
+        StreakHistory streakHistory = new StreakHistory(USER_IDX, 2023);
+
+        streakHistory.updateLevel(LocalDate.of(2022, 12, 31), 3);
+
+        assertThat(streakHistory.getLevel(LocalDate.of(2022, 12, 31))).isZero();
+        assertThat(streakHistory.getStreakhistoryLevels()).isEmpty();
+        assertThat(streakHistory.getStreakhistoryLastDate()).isNull();
+    }
+}
@@ -0,0 +1,115 @@
+package com.mmos.mmos.src.service;
+
+import com.mmos.mmos.src.domain.dto.studytime.ActiveStudyTimeDto;
+import com.mmos.mmos.src.domain.dto.studytime.StudyTimeCloseDto;
+import com.mmos.mmos.src.domain.entity.StudyTime;
+import com.mmos.mmos.src.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// 종료 요청과 자정 마감이 같은 공부시간을 마감할 때 한 번만 반영되는지
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StudyTimeCloseTest {
+
+    private static final Long STUDYTIME_IDX = 1L;
+    private static final Long PLAN_IDX = 2L;
+    private static final Long USER_IDX = 3L;
+
+    @Mock private StudyTimeRepository studyTimeRepository;
+    @Mock private PlanRepository planRepository;
+    @Mock private PlannerRepository plannerRepository;
+    @Mock private CalendarRepository calendarRepository;
+    @Mock private PlanService planService;
+    @Mock private StudyTimeRegistry studyTimeRegistry;
+    @Mock private StudyTimeAggregator studyTimeAggregator;
+    @Mock private StudyWeeklyTimeService studyWeeklyTimeService;
+    @Mock private DailyRecordService dailyRecordService;
+    @Mock private StudyRanking studyRanking;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private StudyTimeService studyTimeService;
+    private StudyTimeScheduler studyTimeScheduler;
+    private ActiveStudyTimeDto activeStudyTime;
+    // DB 의 "studytimeEndTime is null" 조건 대신
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        studyTimeService = new StudyTimeService(studyTimeRepository, planRepository, planService, studyTimeRegistry, studyTimeAggregator);
+        studyTimeScheduler = new StudyTimeScheduler(studyTimeRepository, planRepository, plannerRepository, calendarRepository,
+                studyWeeklyTimeService, studyTimeRegistry, dailyRecordService, studyRanking, transactionManager);
+
+        // 어제 23시에 시작해서 아직 진행 중인 공부시간
+        Timestamp startTime = Timestamp.valueOf(LocalDate.now().minusDays(1).atTime(23, 0));
+        activeStudyTime = new ActiveStudyTimeDto(STUDYTIME_IDX, PLAN_IDX, 4L, 5L, null, USER_IDX,
+                LocalDate.now().minusDays(1), startTime);
+
+        when(studyTimeRepository.closeStudyTime(eq(STUDYTIME_IDX), any(Timestamp.class), anyBoolean()))
+                .thenAnswer(invocation -> closed.compareAndSet(false, true) ? 1 : 0);
+        when(studyTimeRepository.findById(STUDYTIME_IDX))
+                .thenReturn(Optional.of(new StudyTime(startTime, new Timestamp(System.currentTimeMillis()), null)));
+        when(studyTimeRepository.findActiveStudyTimesBefore(any(Timestamp.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(activeStudyTime));
+        when(studyTimeRepository.findActiveStudyTimesBefore(any(Timestamp.class), eq(STUDYTIME_IDX), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+        when(planRepository.findUserIdxByPlanIdx(PLAN_IDX)).thenReturn(Optional.of(USER_IDX));
+        when(studyTimeRegistry.get(USER_IDX)).thenReturn(activeStudyTime);
+        when(studyTimeRegistry.end(activeStudyTime)).thenReturn(true);
+    }
+
+    @Test
+    void stopThenSchedulerCreditsOnce() {
+        assertThat(studyTimeService.setEndTime(PLAN_IDX)).isNotNull();
+        studyTimeScheduler.closeStudyTimes();
+
+        verify(studyTimeAggregator, times(1)).addAfterCommit(any(StudyTimeCloseDto.class));
+        verify(planRepository, never()).addStudyTime(anyLong(), anyLong());
+        verify(dailyRecordService, never()).addRecord(anyLong(), any(LocalDate.class), anyLong(), anyLong());
+    }
+
+    @Test
+    void schedulerThenStopCreditsOnce() {
+        studyTimeScheduler.closeStudyTimes();
+        assertThat(studyTimeService.setEndTime(PLAN_IDX)).isNull();
+
+        verify(studyTimeAggregator, never()).addAfterCommit(any(StudyTimeCloseDto.class));
+        verify(planRepository, times(1)).addStudyTime(eq(PLAN_IDX), anyLong());
+        verify(studyTimeRegistry, times(1)).endStudyTime(USER_IDX, STUDYTIME_IDX);
+    }
+
+    @Test
+    void concurrentStopAndSchedulerCreditOnce() throws InterruptedException {
+        Thread stop = new Thread(() -> studyTimeService.setEndTime(PLAN_IDX));
+        Thread scheduler = new Thread(() -> studyTimeScheduler.closeStudyTimes());
+        stop.start();
+        scheduler.start();
+        stop.join();
+        scheduler.join();
+
+        int credited = mockingDetails(studyTimeAggregator).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("addAfterCommit")).toList().size()
+                + mockingDetails(planRepository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("addStudyTime")).toList().size();
+        assertThat(credited).isEqualTo(1);
+    }
+}
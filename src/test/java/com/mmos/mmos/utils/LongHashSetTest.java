@@ -0,0 +1,99 @@
+package com.mmos.mmos.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// open addressing 집합의 추가/삭제/조회 (0, 크기 확장, 삭제 후 뒤따르는 값 재배치)
+class LongHashSetTest {
+
+    @Test
+    void zeroIsStoredSeparately() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.add(0)).isTrue();
+        assertThat(set.add(0)).isFalse();
+        assertThat(set.contains(0)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.toArray()).containsExactly(0L);
+
+        assertThat(set.remove(0)).isTrue();
+        assertThat(set.remove(0)).isFalse();
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.isEmpty()).isTrue();
+    }
+
+    @Test
+    void keepsValuesAcrossResize() {
+        LongHashSet set = new LongHashSet();
+        for (long value = -5000; value <= 5000; value++)
+            assertThat(set.add(value)).isTrue();
+
+        assertThat(set.size()).isEqualTo(10001);
+        for (long value = -5000; value <= 5000; value++)
+            assertThat(set.contains(value)).isTrue();
+        assertThat(set.contains(5001)).isFalse();
+        assertThat(set.contains(Long.MIN_VALUE)).isFalse();
+        assertThat(set.toArray()).hasSize(10001);
+    }
+
+    @Test
+    void duplicateAddDoesNotChangeSize() {
+        LongHashSet set = new LongHashSet(2);
+        assertThat(set.add(Long.MAX_VALUE)).isTrue();
+        assertThat(set.add(Long.MIN_VALUE)).isTrue();
+        assertThat(set.add(Long.MAX_VALUE)).isFalse();
+
+        assertThat(set.size()).isEqualTo(2);
+        assertThat(set.toArray()).containsExactlyInAnyOrder(Long.MAX_VALUE, Long.MIN_VALUE);
+    }
+
+    @Test
+    void removeKeepsFollowingValuesReachable() {
+        LongHashSet set = new LongHashSet();
+        for (long value = 1; value <= 1000; value++)
+            set.add(value);
+
+        for (long value = 1; value <= 1000; value += 2)
+            assertThat(set.remove(value)).isTrue();
+
+        assertThat(set.size()).isEqualTo(500);
+        for (long value = 1; value <= 1000; value++)
+            assertThat(set.contains(value)).isEqualTo(value % 2 == 0);
+        assertThat(set.remove(1)).isFalse();
+
+        // 지운 자리에 다시 넣을 수 있음
+        for (long value = 1; value <= 1000; value += 2)
+            assertThat(set.add(value)).isTrue();
+        assertThat(set.size()).isEqualTo(1000);
+    }
+
+    // 좁은 범위의 값을 섞어서 넣고 빼며 HashSet 과 비교 (충돌, 연속된 칸 삭제 포함)
+    @Test
+    void matchesHashSetUnderRandomOperations() {
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 100000; i++) {
+            long value = random.nextInt(201) - 100;
+            if (random.nextInt(3) == 0)
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            else
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+
+            if (i % 1000 == 0) {
+                for (long check = -100; check <= 100; check++)
+                    assertThat(set.contains(check)).isEqualTo(expected.contains(check));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(set.toArray()).containsExactlyInAnyOrder(expected.stream().mapToLong(Long::longValue).toArray());
+    }
+}